@@ -0,0 +1,58 @@
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+// Creates the problems and the solvers used by the benchmarks in the
+// knapsack.jmh package. JMH does not allow benchmarks in the default package
+// and a class in a named package cannot refer to the solver classes in the
+// default package, so the benchmarks load this class by reflection and only
+// use the JDK types that its methods return.
+public final class BenchmarkProblems {
+   private BenchmarkProblems() {
+   }
+
+   // returns a KnapsackInstance with the given number of items and capacity
+   // whose values and weights are drawn with the given seed from one of the
+   // following distributions (the weights are in [1, range] where range is
+   // chosen so that the items weigh about twice the capacity in total):
+   //    UNCORRELATED         values in [1, range] independent of the weights
+   //    WEAKLY_CORRELATED    values within range / 10 of the weights
+   //    STRONGLY_CORRELATED  values equal to the weights plus range / 10
+   //    SUBSET_SUM           values equal to the weights
+   public static Object instance(int numItems, int capacity, String distribution,
+         long seed) throws IllegalArgumentException {
+      Random random = new Random(seed);
+      int range = Math.max(2, (int) (4L * capacity / Math.max(1, numItems)));
+      int[] values = new int[numItems], weights = new int[numItems];
+      for (int i = 0; i < numItems; i++) {
+         int weight = 1 + random.nextInt(range), value;
+         switch (distribution) {
+            case "UNCORRELATED":
+               value = 1 + random.nextInt(range);
+               break;
+            case "WEAKLY_CORRELATED":
+               int spread = Math.max(1, range / 10);
+               value = Math.max(1, weight - spread + random.nextInt(2 * spread + 1));
+               break;
+            case "STRONGLY_CORRELATED":
+               value = weight + Math.max(1, range / 10);
+               break;
+            case "SUBSET_SUM":
+               value = weight;
+               break;
+            default:
+               throw new IllegalArgumentException("unknown distribution: " + distribution);
+         }
+         values[i] = value;
+         weights[i] = weight;
+      }
+      return new KnapsackInstance(values, weights, capacity);
+   }
+
+   // returns a function that solves a problem created by the instance method
+   // with the strategy of the given name and returns the total value of the
+   // items put into the knapsack
+   public static ToLongFunction<Object> solver(String strategy) {
+      KnapsackSolver solver = KnapsackStrategy.valueOf(strategy).solver();
+      return instance -> solver.solve((KnapsackInstance) instance).totalValue();
+   }
+}
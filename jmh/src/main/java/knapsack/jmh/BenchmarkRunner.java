@@ -0,0 +1,25 @@
+package knapsack.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks with the usual JMH command line options and adds the GC
+// profiler (allocation rate per operation) unless other profilers are given.
+public final class BenchmarkRunner {
+   private BenchmarkRunner() {
+   }
+
+   public static void main(String[] args)
+         throws CommandLineOptionException, RunnerException {
+      CommandLineOptions options = new CommandLineOptions(args);
+      ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+      if (options.getProfilers().isEmpty())
+         builder.addProfiler(GCProfiler.class);
+      new Runner(builder.build()).run();
+   }
+}
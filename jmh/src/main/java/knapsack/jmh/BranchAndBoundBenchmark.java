@@ -0,0 +1,58 @@
+package knapsack.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks branch and bound on the large problems of TabulationBenchmark.
+// Its running time does not depend on the capacity but grows exponentially
+// when the value/weight ratios are nearly the same, so the strongly correlated
+// problems are left out (a single solve of 1000 strongly correlated items does
+// not finish in minutes, while 100 of them take a fraction of a second).
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class BranchAndBoundBenchmark {
+   @Param({ "BRANCH_AND_BOUND" })
+   public String strategy;
+
+   @Param({ "100", "1000" })
+   public int numItems;
+
+   @Param({ "10000", "100000" })
+   public int capacity;
+
+   @Param({ "UNCORRELATED", "WEAKLY_CORRELATED", "SUBSET_SUM" })
+   public String distribution;
+
+   @Param({ "42" })
+   public long seed;
+
+   private Object instance;
+   private ToLongFunction<Object> solver;
+
+   @Setup
+   public void setUp() {
+      instance = Problems.instance(numItems, capacity, distribution, seed);
+      solver = Problems.solver(strategy);
+   }
+
+   @Benchmark
+   public long solve() {
+      return solver.applyAsLong(instance);
+   }
+}
@@ -0,0 +1,52 @@
+package knapsack.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.ToLongFunction;
+
+// Looks up the methods of the BenchmarkProblems class in the default package
+// (the benchmarks call these methods only during the setup of a trial, so the
+// reflective calls are not part of the measurements).
+final class Problems {
+   private static final MethodHandle INSTANCE, SOLVER;
+
+   static {
+      try {
+         Class<?> problems = Class.forName("BenchmarkProblems");
+         MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+         INSTANCE = lookup.findStatic(problems, "instance", MethodType.methodType(
+               Object.class, int.class, int.class, String.class, long.class));
+         SOLVER = lookup.findStatic(problems, "solver",
+               MethodType.methodType(ToLongFunction.class, String.class));
+      } catch (ReflectiveOperationException e) {
+         throw new ExceptionInInitializerError(e);
+      }
+   }
+
+   private Problems() {
+   }
+
+   // returns a problem created by BenchmarkProblems.instance
+   static Object instance(int numItems, int capacity, String distribution, long seed) {
+      try {
+         return INSTANCE.invoke(numItems, capacity, distribution, seed);
+      } catch (RuntimeException | Error e) {
+         throw e;
+      } catch (Throwable e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   // returns a solver created by BenchmarkProblems.solver
+   @SuppressWarnings("unchecked")
+   static ToLongFunction<Object> solver(String strategy) {
+      try {
+         return (ToLongFunction<Object>) SOLVER.invoke(strategy);
+      } catch (RuntimeException | Error e) {
+         throw e;
+      } catch (Throwable e) {
+         throw new IllegalStateException(e);
+      }
+   }
+}
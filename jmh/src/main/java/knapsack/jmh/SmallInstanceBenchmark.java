@@ -0,0 +1,57 @@
+package knapsack.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks the strategies that check all possible item subsets (solve1 and
+// solve2) against the dynamic programming strategies on problems that are
+// small enough for checking all the 2^n subsets.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class SmallInstanceBenchmark {
+   @Param({ "RECURSIVE", "SUBSETS", "EXHAUSTIVE", "BRANCH_AND_BOUND",
+         "MEET_IN_THE_MIDDLE", "MEMOIZATION", "TABULATION", "GREEDY", "FPTAS" })
+   public String strategy;
+
+   @Param({ "12", "18", "22" })
+   public int numItems;
+
+   @Param({ "100", "1000" })
+   public int capacity;
+
+   @Param({ "UNCORRELATED", "STRONGLY_CORRELATED" })
+   public String distribution;
+
+   @Param({ "42" })
+   public long seed;
+
+   private Object instance;
+   private ToLongFunction<Object> solver;
+
+   @Setup
+   public void setUp() {
+      instance = Problems.instance(numItems, capacity, distribution, seed);
+      solver = Problems.solver(strategy);
+   }
+
+   @Benchmark
+   public long solve() {
+      return solver.applyAsLong(instance);
+   }
+}
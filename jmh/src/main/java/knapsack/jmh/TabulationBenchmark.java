@@ -0,0 +1,57 @@
+package knapsack.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks the strategies whose running time depends on the number of items
+// times the capacity (dynamic programming with tabulation or memoization) on
+// problems that are too large for checking all the item subsets.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector", "-Xmx4g" })
+public class TabulationBenchmark {
+   @Param({ "TABULATION", "MEMOIZATION", "ROLLING_TABULATION", "PARALLEL_TABULATION",
+         "VECTOR_TABULATION", "DECISION_BITS", "PARETO", "GREEDY", "FPTAS" })
+   public String strategy;
+
+   @Param({ "100", "1000" })
+   public int numItems;
+
+   @Param({ "10000", "100000" })
+   public int capacity;
+
+   @Param({ "UNCORRELATED", "WEAKLY_CORRELATED", "STRONGLY_CORRELATED", "SUBSET_SUM" })
+   public String distribution;
+
+   @Param({ "42" })
+   public long seed;
+
+   private Object instance;
+   private ToLongFunction<Object> solver;
+
+   @Setup
+   public void setUp() {
+      instance = Problems.instance(numItems, capacity, distribution, seed);
+      solver = Problems.solver(strategy);
+   }
+
+   @Benchmark
+   public long solve() {
+      return solver.applyAsLong(instance);
+   }
+}
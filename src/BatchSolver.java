@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Solves the 0-1 knapsack problem of the same items for many capacities (e.g.,
+// one capacity for each customer tier) by filling a single solution matrix for
+// the largest capacity instead of filling a matrix for each capacity, and
+// solves many independent item sets at once on a bounded thread pool. The
+// pool has a fixed number of threads and a bounded queue; when the queue is
+// full, the thread that submits a task runs it itself, which slows down the
+// submitter instead of letting the queue grow without a limit. After close,
+// submit and solveAll throw a RejectedExecutionException.
+public final class BatchSolver implements AutoCloseable {
+   // fills the solution matrices
+   private final TabulationSolver tabulation;
+   // the bounded pool that solves the item sets
+   private final ThreadPoolExecutor executor;
+
+   // creates a solver with a thread for each processor and a queue of 64 tasks
+   public BatchSolver() {
+      this(Runtime.getRuntime().availableProcessors(), 64);
+   }
+
+   // creates a solver with the given number of threads and the given queue
+   // capacity that computes the rows serially
+   public BatchSolver(int threads, int queueCapacity) {
+      this(threads, queueCapacity, ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver with the given number of threads and the given queue
+   // capacity that computes the rows with the given kernel
+   public BatchSolver(int threads, int queueCapacity, RowKernel kernel) {
+      tabulation = new TabulationSolver(kernel);
+      executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), (task, pool) -> {
+               // a task is rejected either because the queue is full (the
+               // submitter runs it) or because the pool is shut down (unlike
+               // CallerRunsPolicy, which would discard it and leave its future
+               // incomplete forever)
+               if (pool.isShutdown())
+                  throw new RejectedExecutionException("BatchSolver is closed");
+               task.run();
+            });
+   }
+
+   // fills the solution matrix of the given items once for the largest of the
+   // given capacities (the capacity of the given problem is ignored) and
+   // returns the table that answers the problem for each of the capacities
+   public KnapsackTable table(KnapsackInstance items, int... capacities)
+         throws IllegalArgumentException {
+      int maxCapacity = 0;
+      for (int capacity : capacities) {
+         if (capacity < 0)
+            throw new IllegalArgumentException("negative capacity: " + capacity);
+         maxCapacity = Math.max(maxCapacity, capacity);
+      }
+      return tabulation.table(items.withCapacity(maxCapacity));
+   }
+
+   // solves the problem of the given items for each of the given capacities
+   // from a single table (the result at index k is for the capacity at index k)
+   public KnapsackResult[] solve(KnapsackInstance items, int... capacities)
+         throws IllegalArgumentException {
+      KnapsackTable table = table(items, capacities);
+      KnapsackResult[] results = new KnapsackResult[capacities.length];
+      for (int k = 0; k < capacities.length; k++)
+         results[k] = table.result(capacities[k]);
+      return results;
+   }
+
+   // submits the problem of the given items for each of the given capacities
+   // to the pool
+   public Future<KnapsackResult[]> submit(KnapsackInstance items, int... capacities)
+         throws RejectedExecutionException {
+      int[] copy = capacities.clone();
+      return executor.submit(() -> solve(items, copy));
+   }
+
+   // solves the problem of each of the given item sets for each of the given
+   // capacities on the pool and returns the results in the same order as the
+   // item sets
+   public List<KnapsackResult[]> solveAll(List<KnapsackInstance> itemSets,
+         int... capacities) throws InterruptedException, ExecutionException,
+         RejectedExecutionException {
+      List<Future<KnapsackResult[]>> futures = new ArrayList<>(itemSets.size());
+      for (KnapsackInstance items : itemSets)
+         futures.add(submit(items, capacities));
+      List<KnapsackResult[]> results = new ArrayList<>(itemSets.size());
+      for (Future<KnapsackResult[]> future : futures)
+         results.add(future.get());
+      return results;
+   }
+
+   // stops the pool after the submitted tasks are done (the tasks are
+   // cancelled if the calling thread is interrupted while waiting)
+   @Override
+   public void close() {
+      executor.shutdown();
+      try {
+         executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+      } catch (InterruptedException e) {
+         executor.shutdownNow();
+         Thread.currentThread().interrupt();
+      }
+   }
+}
@@ -0,0 +1,76 @@
+import java.util.Arrays;
+
+// Solves the bounded knapsack problem, in which item i can be put into the
+// knapsack up to counts[i] times, by binary splitting: the copies of an item
+// are grouped into pieces of 1, 2, 4, ... copies and a last piece with the
+// remaining copies, so that every number of copies from 0 to the count is the
+// sum of some of the pieces. The pieces form a 0-1 knapsack problem with
+// O(sum of log(counts)) items instead of one item for each copy, which is
+// solved by any 0-1 solver (TabulationSolver by default). Copies that cannot
+// fit into the knapsack (more than capacity / weight) are never split off.
+//
+// The indexes of the result refer to the given problem and an index is
+// repeated once for each copy of the item put into the knapsack.
+public final class BoundedSolver {
+   // solves the 0-1 knapsack problem of the pieces
+   private final KnapsackSolver solver;
+
+   // creates a solver that solves the pieces with TabulationSolver
+   public BoundedSolver() {
+      this(new TabulationSolver());
+   }
+
+   // creates a solver that solves the pieces with the given 0-1 solver
+   public BoundedSolver(KnapsackSolver solver) {
+      this.solver = solver;
+   }
+
+   // solves the given problem in which the item at index i is available
+   // counts[i] times
+   public KnapsackResult solve(KnapsackInstance instance, int[] counts)
+         throws IllegalArgumentException {
+      int numItems = instance.size(), capacity = instance.capacity();
+      if (counts.length != numItems)
+         throw new IllegalArgumentException("items and counts differ in length");
+      // the value, the weight, the item and the number of copies of each piece
+      int[] values = new int[16], weights = new int[16], items = new int[16],
+            copies = new int[16];
+      int numPieces = 0;
+      for (int i = 0; i < numItems; i++) {
+         if (counts[i] < 0)
+            throw new IllegalArgumentException("negative count of item " + i + ": "
+                  + counts[i]);
+         int value = instance.value(i), weight = instance.weight(i);
+         int remaining = Math.min(counts[i], capacity / weight);
+         for (int piece = 1; remaining > 0; piece *= 2) {
+            int size = Math.min(piece, remaining);
+            remaining -= size;
+            if ((long) value * size > Integer.MAX_VALUE)
+               throw new IllegalArgumentException("value of " + size + " copies of item "
+                     + i + " exceeds the int range");
+            if (numPieces == values.length) {
+               values = Arrays.copyOf(values, numPieces * 2);
+               weights = Arrays.copyOf(weights, numPieces * 2);
+               items = Arrays.copyOf(items, numPieces * 2);
+               copies = Arrays.copyOf(copies, numPieces * 2);
+            }
+            values[numPieces] = value * size;
+            weights[numPieces] = weight * size;
+            items[numPieces] = i;
+            copies[numPieces++] = size;
+         }
+      }
+      KnapsackResult pieces = solver.solve(new KnapsackInstance(Arrays.copyOf(values,
+            numPieces), Arrays.copyOf(weights, numPieces), capacity));
+      // repeat the index of the item of each piece once for each copy
+      int count = 0;
+      for (int piece : pieces.indexes())
+         count += copies[piece];
+      int[] indexes = new int[count];
+      count = 0;
+      for (int piece : pieces.indexes())
+         for (int k = 0; k < copies[piece]; k++)
+            indexes[count++] = items[piece];
+      return new KnapsackResult(pieces.totalValue(), pieces.totalWeight(), indexes);
+   }
+}
@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem by branch and bound. The items are sorted by
+// their value per unit of weight in descending order and the subsets are
+// searched depth first (with the item before without the item) by using an
+// explicit stack instead of recursion. A subtree is pruned if its upper bound
+// does not exceed the best total value found so far, where the upper bound is
+// the Dantzig bound of the fractional knapsack problem: the remaining items are
+// put into the knapsack in the sorted order as long as they fit and the first
+// item that does not fit is put into the knapsack partially. The bound is
+// computed in O(log n) time by a binary search over the prefix sums of the
+// sorted weights. The running time does not depend on the capacity, so this
+// solver works for capacities that are far too large for tabulation, and it
+// usually visits few subsets when the value/weight ratios differ.
+//
+// The number of visited subtrees can be limited: if the search reaches the
+// limit, it stops and returns the best subset found so far with the Dantzig
+// bound of all the items as the upper bound of the result (as GreedySolver
+// does), so a solve of a hard problem (e.g., with nearly the same ratios)
+// cannot run for hours.
+public final class BranchAndBoundSolver implements KnapsackSolver {
+   // the maximum number of visited subtrees
+   private final long maxNodes;
+
+   // creates a solver that searches until the best subset is proven optimal
+   public BranchAndBoundSolver() {
+      this(Long.MAX_VALUE);
+   }
+
+   // creates a solver that stops after visiting the given number of subtrees
+   public BranchAndBoundSolver(long maxNodes) throws IllegalArgumentException {
+      if (maxNodes <= 0)
+         throw new IllegalArgumentException("non-positive node limit: " + maxNodes);
+      this.maxNodes = maxNodes;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("BranchAndBoundSolver", instance);
+      int numItems = instance.size();
+      int[] order = ratioOrder(instance);
+      Search search = new Search(instance, order, maxNodes);
+      boolean[] taken = search.search();
+      metrics.fillDone();
+      metrics.recursionCalls += search.nodes;
+      metrics.prunedNodes += search.pruned;
+      // convert the best subset to the item indexes
+      int[] indexes = new int[numItems];
+      int count = 0;
+      for (int k = 0; k < numItems; k++)
+         if (taken[k])
+            indexes[count++] = order[k];
+      indexes = Arrays.copyOf(indexes, count);
+      // the search stopped before the best subset was proven optimal
+      if (search.stopped)
+         return metrics.finish(KnapsackResult.of(instance, indexes,
+               search.bound(0, instance.capacity(), 0)));
+      return metrics.finish(KnapsackResult.of(instance, indexes));
+   }
+
+   // returns the item indexes sorted by value/weight ratio in descending order
+   // (a / b > c / d is tested as a * d > c * b to avoid rounding, and items
+   // with the same ratio keep their order)
+   static int[] ratioOrder(KnapsackInstance instance) {
+      int numItems = instance.size();
+      Integer[] sorted = new Integer[numItems];
+      for (int i = 0; i < numItems; i++)
+         sorted[i] = i;
+      Arrays.sort(sorted, (a, b) -> {
+         long ratioA = (long) instance.value(a) * instance.weight(b);
+         long ratioB = (long) instance.value(b) * instance.weight(a);
+         return ratioA != ratioB ? Long.compare(ratioB, ratioA) : Integer.compare(a, b);
+      });
+      int[] order = new int[numItems];
+      for (int k = 0; k < numItems; k++)
+         order[k] = sorted[k];
+      return order;
+   }
+
+   // the state of a single solve
+   private static final class Search {
+      // the states of a level on the stack: the subtree with the item is next,
+      // the subtree without the item is next, or both subtrees are done
+      private static final byte WITH = 0, WITHOUT = 1, DONE = 2;
+
+      private final int numItems;
+      private final long capacity;
+      // the values and the weights of the items in the sorted order
+      private final long[] values, weights;
+      // the total value and the total weight of the first k sorted items
+      private final long[] valueSums, weightSums;
+      // the numbers of the visited and of the pruned subtrees
+      private long nodes, pruned;
+      // the maximum number of visited subtrees and whether the search stopped
+      // because it reached this number
+      private final long maxNodes;
+      private boolean stopped;
+
+      Search(KnapsackInstance instance, int[] order, long maxNodes) {
+         this.maxNodes = maxNodes;
+         numItems = order.length;
+         capacity = instance.capacity();
+         values = new long[numItems];
+         weights = new long[numItems];
+         valueSums = new long[numItems + 1];
+         weightSums = new long[numItems + 1];
+         for (int k = 0; k < numItems; k++) {
+            values[k] = instance.value(order[k]);
+            weights[k] = instance.weight(order[k]);
+            valueSums[k + 1] = valueSums[k] + values[k];
+            weightSums[k + 1] = weightSums[k] + weights[k];
+         }
+      }
+
+      // returns which of the sorted items are in the best subset
+      boolean[] search() {
+         // the explicit stack: the state of each level and whether the item of
+         // each level is in the current subset
+         byte[] state = new byte[numItems + 1];
+         boolean[] taken = new boolean[numItems], bestTaken = new boolean[numItems];
+         long bestValue = 0, value = 0, remaining = capacity;
+         int k = 0;
+         state[0] = WITH;
+         while (k >= 0) {
+            if (state[k] == WITH) {
+               if (nodes++ == maxNodes) {
+                  stopped = true;
+                  break;
+               }
+               // the current subset (without any of the items from level k on)
+               // is the best subset if it has a greater total value
+               if (value > bestValue) {
+                  bestValue = value;
+                  System.arraycopy(taken, 0, bestTaken, 0, numItems);
+               }
+               // prune: no items left or the subtree cannot beat the best value
+               if (k == numItems) {
+                  k--;
+                  continue;
+               }
+               if (bound(k, remaining, value) <= bestValue) {
+                  pruned++;
+                  k--;
+                  continue;
+               }
+               state[k] = WITHOUT;
+               // go down into the subtree with the item if the item fits
+               if (weights[k] <= remaining) {
+                  taken[k] = true;
+                  value += values[k];
+                  remaining -= weights[k];
+                  state[++k] = WITH;
+               }
+            } else if (state[k] == WITHOUT) {
+               // undo the item of this level if the subtree with it is done
+               if (taken[k]) {
+                  taken[k] = false;
+                  value -= values[k];
+                  remaining += weights[k];
+               }
+               state[k] = DONE;
+               // go down into the subtree without the item unless it is pruned
+               if (bound(k + 1, remaining, value) > bestValue)
+                  state[++k] = WITH;
+               else
+                  pruned++;
+            } else
+               // both subtrees of this level are done -> go back up
+               k--;
+         }
+         return bestTaken;
+      }
+
+      // returns the Dantzig upper bound for the total value of a subset that
+      // adds the sorted items from index k on to a subset with the given total
+      // value and the given remaining capacity
+      private long bound(int k, long remaining, long value) {
+         // find the last item j such that the items k, ... , j - 1 all fit
+         // (binary search over the prefix sums of the weights)
+         long limit = weightSums[k] + remaining;
+         int low = k, high = numItems;
+         while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (weightSums[middle] <= limit)
+               low = middle;
+            else
+               high = middle - 1;
+         }
+         int j = low;
+         long bound = value + valueSums[j] - valueSums[k];
+         // put the next item into the knapsack partially (rounded down as the
+         // total value of any subset is an integer)
+         if (j < numItems)
+            bound += (limit - weightSums[j]) * values[j] / weights[j];
+         return bound;
+      }
+   }
+}
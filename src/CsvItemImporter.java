@@ -0,0 +1,115 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Converts a CSV file of items into the binary format of ItemFile in a single
+// streaming pass, so that files of any size can be converted with constant
+// memory. Each line of the CSV file has the value and the weight of an item
+// separated by a comma (e.g., "7,3"); empty lines and lines that start with
+// '#' are skipped, and the first line is skipped if it is a header (i.e., it
+// does not have two integers separated by a comma). The values are written to the item file as
+// they are read while the weights are written to a temporary file, which is
+// appended to the item file at the end.
+public final class CsvItemImporter {
+   private CsvItemImporter() {
+   }
+
+   // converts the given CSV file into the given item file and returns the
+   // number of items
+   public static long convert(Path csv, Path itemFile)
+         throws IOException, IllegalArgumentException {
+      Path weightFile = Files.createTempFile(itemFile.toAbsolutePath().getParent(),
+            "weights", ".tmp");
+      try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+            FileChannel items = FileChannel.open(itemFile, StandardOpenOption.CREATE,
+                  StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                  StandardOpenOption.WRITE);
+            FileChannel weights = FileChannel.open(weightFile, StandardOpenOption.READ,
+                  StandardOpenOption.WRITE)) {
+         // reserve the header (the number of items is not known yet)
+         items.position(ItemFile.HEADER_SIZE);
+         ByteBuffer valueBuffer = ByteBuffer.allocate(1 << 16).order(ItemFile.ORDER);
+         ByteBuffer weightBuffer = ByteBuffer.allocate(1 << 16).order(ItemFile.ORDER);
+         long numItems = readItems(reader, csv.toString(), (value, weight) -> {
+            if (!valueBuffer.hasRemaining())
+               ItemFile.drain(items, valueBuffer);
+            if (!weightBuffer.hasRemaining())
+               ItemFile.drain(weights, weightBuffer);
+            valueBuffer.putInt(value);
+            weightBuffer.putInt(weight);
+         });
+         ItemFile.drain(items, valueBuffer);
+         ItemFile.drain(weights, weightBuffer);
+         // append the weight column and write the header
+         long size = weights.size();
+         for (long copied = 0; copied < size;)
+            copied += weights.transferTo(copied, size - copied, items);
+         ItemFile.writeHeader(items, numItems);
+         return numItems;
+      } finally {
+         Files.deleteIfExists(weightFile);
+      }
+   }
+
+   // receives the items read by readItems
+   interface ItemConsumer {
+      void accept(int value, int weight) throws IOException;
+   }
+
+   // reads the lines of the given reader in the CSV format described above,
+   // passes the value and the weight of each item to the given consumer and
+   // returns the number of items (the errors name the given source and the
+   // line number)
+   static long readItems(BufferedReader reader, String source, ItemConsumer consumer)
+         throws IOException, IllegalArgumentException {
+      long numItems = 0, lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+         lineNumber++;
+         line = line.trim();
+         if (line.isEmpty() || line.startsWith("#"))
+            continue;
+         int comma = line.indexOf(',');
+         int value, weight;
+         try {
+            if (comma < 0)
+               throw new NumberFormatException("expected value,weight");
+            value = Integer.parseInt(line.substring(0, comma).trim());
+            weight = Integer.parseInt(line.substring(comma + 1).trim());
+         } catch (NumberFormatException e) {
+            // the first line is a header
+            if (lineNumber == 1)
+               continue;
+            throw new IllegalArgumentException(source + ":" + lineNumber + ": "
+                  + e.getMessage());
+         }
+         if (value < 0 || weight <= 0)
+            throw new IllegalArgumentException(source + ":" + lineNumber
+                  + ": invalid item (v:" + value + ", w:" + weight + ")");
+         if (++numItems > ItemFile.MAX_ITEMS)
+            throw new IllegalArgumentException(source + ": more than "
+                  + ItemFile.MAX_ITEMS + " items");
+         consumer.accept(value, weight);
+      }
+      return numItems;
+   }
+
+   // converts the CSV file given as the first argument into the item file
+   // given as the second argument
+   public static void main(String[] args) throws IOException {
+      if (args.length != 2) {
+         System.out.println("usage: java CsvItemImporter <items.csv> <items.bin>");
+         return;
+      }
+      long startTime = System.nanoTime();
+      long numItems = convert(Path.of(args[0]), Path.of(args[1]));
+      long endTime = System.nanoTime();
+      System.out.println("Converted " + numItems + " items in "
+            + (endTime - startTime) / 1000000.0 + " milliseconds");
+   }
+}
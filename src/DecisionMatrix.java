@@ -0,0 +1,68 @@
+// A bit matrix that stores for each item (row) and each capacity (column)
+// whether the item is put into the knapsack, which is all that is needed for
+// finding the items after the solution matrix is filled. With one bit for each
+// element instead of an int it is 32 times smaller than the solution matrix.
+// Each row starts at a new long word, and the words are stored in pages of
+// 2^24 longs (128 MB), so the matrix is addressed by 64-bit indexes and can
+// have more than 2^31 words in total.
+public final class DecisionMatrix {
+   // the number of longs in a page (a power of 2)
+   private static final int PAGE_SHIFT = 24;
+   private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+
+   private final int rows, columns;
+   // the number of words in a row
+   private final int rowWords;
+   private final long[][] pages;
+
+   // creates a matrix with the given number of rows and columns (all false)
+   public DecisionMatrix(int rows, int columns) throws IllegalArgumentException {
+      if (rows < 0 || columns < 0)
+         throw new IllegalArgumentException("invalid size " + rows + " x " + columns);
+      this.rows = rows;
+      this.columns = columns;
+      rowWords = (int) (((long) columns + 63) >>> 6);
+      long words = (long) rows * rowWords;
+      pages = new long[(int) ((words + PAGE_MASK) >>> PAGE_SHIFT)][];
+      for (int k = 0; k < pages.length; k++)
+         pages[k] = new long[(int) Math.min(1L << PAGE_SHIFT, words - ((long) k << PAGE_SHIFT))];
+   }
+
+   // returns the number of rows
+   public int rows() {
+      return rows;
+   }
+
+   // returns the number of columns
+   public int columns() {
+      return columns;
+   }
+
+   // returns the number of bytes used by the bits
+   public long bytes() {
+      return (long) rows * rowWords * Long.BYTES;
+   }
+
+   // returns the bit at the given row and column
+   public boolean get(int row, int column) {
+      long word = (long) row * rowWords + (column >>> 6);
+      return (pages[(int) (word >>> PAGE_SHIFT)][(int) (word & PAGE_MASK)]
+            & 1L << column) != 0;
+   }
+
+   // sets the bits of the given row to true for the columns in which the given
+   // current row of the solution matrix differs from the given previous row
+   // (i.e., the capacities for which the item of the row is put into the
+   // knapsack)
+   public void setRow(int row, int[] previous, int[] current) {
+      long word = (long) row * rowWords;
+      for (int c = 0; c < columns; c += 64, word++) {
+         long bits = 0;
+         int end = Math.min(c + 64, columns);
+         for (int k = c; k < end; k++)
+            if (current[k] != previous[k])
+               bits |= 1L << (k - c);
+         pages[(int) (word >>> PAGE_SHIFT)][(int) (word & PAGE_MASK)] = bits;
+      }
+   }
+}
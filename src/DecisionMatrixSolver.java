@@ -0,0 +1,52 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem by using bottom-up dynamic programming with
+// tabulation while keeping only two rows of the solution matrix and a bit for
+// each of its elements that tells whether the element differs from the element
+// above it, i.e., whether the item of the row is put into the knapsack for the
+// capacity of the column. These bits are all that printSolution needs for
+// walking the matrix backwards, so the items are the same as the items found
+// by TabulationSolver while the memory is 32 times smaller.
+public final class DecisionMatrixSolver implements KnapsackSolver {
+   // computes each row from the previous row
+   private final RowKernel kernel;
+
+   // creates a solver that computes the rows serially
+   public DecisionMatrixSolver() {
+      this(ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver that computes the rows with the given kernel
+   public DecisionMatrixSolver(RowKernel kernel) {
+      this.kernel = kernel;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("DecisionMatrixSolver", instance);
+      int numItems = instance.size(), capacity = instance.capacity();
+      // fill the rows and record the decisions of each row
+      DecisionMatrix taken = new DecisionMatrix(numItems, capacity + 1);
+      int[] previous = new int[capacity + 1], current = new int[capacity + 1];
+      for (int i = 0; i < numItems; i++) {
+         kernel.update(previous, current, instance.value(i), instance.weight(i),
+               capacity);
+         taken.setRow(i, previous, current);
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+      metrics.fillDone();
+      metrics.cellsComputed += (long) numItems * (capacity + 1);
+      metrics.tableBytes(taken.bytes() + (capacity + 1) * 8L);
+      // walk the decisions from the last item back to the first item
+      int[] selected = new int[numItems];
+      int count = 0;
+      for (int i = numItems - 1, c = capacity; i >= 0 && c > 0; i--)
+         if (taken.get(i, c)) {
+            selected[count++] = i;
+            c -= instance.weight(i);
+         }
+      return metrics.finish(KnapsackResult.of(instance, Arrays.copyOf(selected, count)));
+   }
+}
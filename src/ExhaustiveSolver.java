@@ -0,0 +1,92 @@
+// Solves the 0-1 knapsack problem by checking all possible item subsets as the
+// solve2 method of the Knapsack class does, but without creating any objects
+// while searching: the items in the current subset and in the best subset are
+// stored as the bits of long masks (bit i is set if item i is in the subset),
+// so no array list is created and no index or value is boxed.
+//
+// The subsets are visited in the same order as solve2 visits them (the last
+// item first, the subsets without an item before the subsets with the item)
+// and the best subset is only replaced by a subset with a greater total value,
+// so the first subset with the maximum total value is returned, which is the
+// same subset that solve2 returns. A subtree is skipped if even putting all of
+// its remaining items into the knapsack cannot exceed the best total value.
+public final class ExhaustiveSolver implements KnapsackSolver {
+   // the maximum number of items (the number of bits in a long mask)
+   public static final int MAX_ITEMS = Long.SIZE;
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance)
+         throws IllegalArgumentException {
+      SolveMetrics metrics = new SolveMetrics("ExhaustiveSolver", instance);
+      int numItems = instance.size();
+      if (numItems > MAX_ITEMS)
+         throw new IllegalArgumentException("too many items for checking all subsets: "
+               + numItems + " > " + MAX_ITEMS);
+      Search search = new Search(instance);
+      search.search(numItems, instance.capacity(), 0, 0L);
+      metrics.fillDone();
+      metrics.recursionCalls += search.calls;
+      metrics.prunedNodes += search.pruned;
+      // convert the best mask to the item indexes
+      long mask = search.bestMask;
+      int[] indexes = new int[Long.bitCount(mask)];
+      for (int k = 0; mask != 0; k++, mask &= mask - 1)
+         indexes[k] = Long.numberOfTrailingZeros(mask);
+      return metrics.finish(new KnapsackResult(search.bestValue, search.bestWeight,
+            indexes));
+   }
+
+   // the state of a single solve (created once for each call of solve, and
+   // only primitive fields are updated while searching)
+   private static final class Search {
+      // the values and the weights of the items
+      private final int[] values, weights;
+      // remainingValues[n] is the total value of the first n items
+      private final long[] remainingValues;
+      // the best subset found so far with its total value and total weight
+      private long bestMask, bestValue = -1, bestWeight;
+      // the numbers of the calls of search and of the skipped subtrees
+      private long calls, pruned;
+
+      Search(KnapsackInstance instance) {
+         int numItems = instance.size();
+         values = new int[numItems];
+         weights = new int[numItems];
+         remainingValues = new long[numItems + 1];
+         for (int i = 0; i < numItems; i++) {
+            values[i] = instance.value(i);
+            weights[i] = instance.weight(i);
+            remainingValues[i + 1] = remainingValues[i] + values[i];
+         }
+      }
+
+      // checks all the subsets of the first n items that can be added to the
+      // current subset (given by its mask, total value and remaining capacity)
+      void search(int n, int capacity, long value, long mask) {
+         calls++;
+         // the current subset (without any of the first n items) is the best
+         // subset if its total value is greater than the best total value
+         if (value > bestValue) {
+            bestValue = value;
+            bestMask = mask;
+            bestWeight = 0;
+            for (long m = mask; m != 0; m &= m - 1)
+               bestWeight += weights[Long.numberOfTrailingZeros(m)];
+         }
+         // base case: no items, no capacity, or no subset of the first n items
+         // can make the total value greater than the best total value
+         if (n == 0 || capacity == 0)
+            return;
+         if (value + remainingValues[n] <= bestValue) {
+            pruned++;
+            return;
+         }
+         // test the last of the first n items (first without it, then with it
+         // if its weight does not exceed the capacity)
+         int index = n - 1, weight = weights[index];
+         search(n - 1, capacity, value, mask);
+         if (weight <= capacity)
+            search(n - 1, capacity - weight, value + values[index], mask | 1L << index);
+      }
+   }
+}
@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem approximately with a fully polynomial time
+// approximation scheme: for a given epsilon in (0, 1) the total value of the
+// result is at least (1 - epsilon) times the optimal total value, and the
+// running time is polynomial in the number of items and 1 / epsilon regardless
+// of the capacity.
+//
+// The values are divided by scale = epsilon * maxValue / n (n is the number of
+// the items that fit into the knapsack) and rounded down, and the problem with
+// the scaled values is solved exactly by dynamic programming over the total
+// scaled value instead of the capacity: an element of a row is the minimum
+// total weight of the items that reach that total scaled value. Rounding loses
+// less than scale per item, so the best subset of the scaled problem loses less
+// than epsilon * maxValue <= epsilon * optimum.
+// The columns only go up to the greedy (Dantzig) upper bound divided by scale,
+// as no subset can have a greater total value, and the items are found with a
+// DecisionMatrix as in DecisionMatrixSolver. The upper bound of the result is
+// the smaller of the Dantzig bound and scale * (best scaled value + n).
+public final class FptasSolver implements KnapsackSolver {
+   // the default relative error (the result is within 1% of the optimum)
+   public static final double DEFAULT_EPSILON = 0.01;
+   // the minimum total weight of a total scaled value that cannot be reached
+   private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+   private final double epsilon;
+
+   // creates a solver with the default relative error
+   public FptasSolver() {
+      this(DEFAULT_EPSILON);
+   }
+
+   // creates a solver with the given relative error in (0, 1)
+   public FptasSolver(double epsilon) throws IllegalArgumentException {
+      checkEpsilon(epsilon);
+      this.epsilon = epsilon;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      return solve(instance, epsilon);
+   }
+
+   // solves the given problem with the given relative error in (0, 1) instead
+   // of the relative error of this solver
+   public KnapsackResult solve(KnapsackInstance instance, double epsilon)
+         throws IllegalArgumentException {
+      checkEpsilon(epsilon);
+      SolveMetrics metrics = new SolveMetrics("FptasSolver", instance);
+      // the greedy solution is a lower bound and its Dantzig bound is an upper
+      // bound (the greedy solution is optimal if both are the same)
+      KnapsackResult greedy = GreedySolver.greedy(instance);
+      if (greedy.isExact())
+         return metrics.finish(greedy);
+      int numItems = instance.size(), capacity = instance.capacity();
+      // the number and the maximum value of the items that fit
+      int fitting = 0;
+      long maxValue = 0;
+      for (int i = 0; i < numItems; i++)
+         if (instance.weight(i) <= capacity) {
+            fitting++;
+            maxValue = Math.max(maxValue, instance.value(i));
+         }
+      // scaling by less than 1 only adds columns (the solution is exact)
+      double scale = Math.max(1, epsilon * maxValue / fitting);
+      long columns = (long) (greedy.upperBound() / scale) + 1;
+      if (columns > Integer.MAX_VALUE - 1)
+         throw new IllegalArgumentException("epsilon too small for the problem: "
+               + epsilon + " (" + columns + " columns)");
+      int[] scaled = new int[numItems];
+      for (int i = 0; i < numItems; i++)
+         if (instance.weight(i) <= capacity)
+            scaled[i] = (int) (instance.value(i) / scale);
+      // fill the rows over the total scaled values and record the decisions
+      DecisionMatrix taken = new DecisionMatrix(numItems, (int) columns);
+      int[] previous = new int[(int) columns], current = new int[(int) columns];
+      Arrays.fill(previous, UNREACHABLE);
+      Arrays.fill(current, UNREACHABLE);
+      previous[0] = 0;
+      // the greatest total scaled value reached so far (the elements after it
+      // are unreachable in both rows)
+      int reached = 0;
+      for (int i = 0; i < numItems; i++) {
+         int value = scaled[i], weight = instance.weight(i);
+         // an item without scaled value never changes a row
+         if (value == 0)
+            continue;
+         int top = (int) Math.min(reached + (long) value, columns - 1);
+         System.arraycopy(previous, 0, current, 0, top + 1);
+         for (int p = top; p >= value; p--)
+            if (previous[p - value] != UNREACHABLE) {
+               long totalWeight = (long) previous[p - value] + weight;
+               if (totalWeight <= capacity && totalWeight < current[p])
+                  current[p] = (int) totalWeight;
+            }
+         taken.setRow(i, previous, current);
+         metrics.cellsComputed += top + 1;
+         reached = top;
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+      // the greatest reachable total scaled value
+      int best = reached;
+      while (previous[best] == UNREACHABLE)
+         best--;
+      metrics.fillDone();
+      metrics.tableBytes(taken.bytes() + columns * 8);
+      // walk the decisions from the last item back to the first item
+      int[] selected = new int[numItems];
+      int count = 0;
+      for (int i = numItems - 1, p = best; i >= 0 && p > 0; i--)
+         if (taken.get(i, p)) {
+            selected[count++] = i;
+            p -= scaled[i];
+         }
+      // each item of an optimal subset loses less than scale by rounding, so
+      // the optimum is less than scale * (best + number of fitting items)
+      long bound = scale == 1 ? best
+            : Math.min(greedy.upperBound(), (long) Math.ceil(scale * ((double) best + fitting)));
+      KnapsackResult result = KnapsackResult.of(instance, Arrays.copyOf(selected, count),
+            bound);
+      if (greedy.totalValue() > result.totalValue())
+         result = new KnapsackResult(greedy.totalValue(), greedy.totalWeight(),
+               greedy.indexes(), Math.max(greedy.totalValue(), result.upperBound()));
+      return metrics.finish(result);
+   }
+
+   // checks that the given relative error is in (0, 1)
+   private static void checkEpsilon(double epsilon) throws IllegalArgumentException {
+      if (!(epsilon > 0 && epsilon < 1))
+         throw new IllegalArgumentException("epsilon not in (0, 1): " + epsilon);
+   }
+}
@@ -0,0 +1,49 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem approximately in O(n log n) time. The items
+// are put into the knapsack in the order of their value/weight ratio (highest
+// first) whenever they still fit, and the result is the better of this subset
+// and the most valuable single item that fits. The upper bound of the result
+// is the Dantzig bound of the fractional knapsack problem (the items that fit
+// in the sorted order plus the fraction of the first item that does not fit).
+// As this bound is at most the value of that prefix plus the value of that
+// item, the result is always worth at least half of the bound, i.e., it is a
+// 1/2-approximation, and it is usually much closer to the optimum.
+public final class GreedySolver implements KnapsackSolver {
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("GreedySolver", instance);
+      return metrics.finish(greedy(instance));
+   }
+
+   // returns the greedy solution of the given problem with the Dantzig bound
+   static KnapsackResult greedy(KnapsackInstance instance) {
+      int numItems = instance.size(), capacity = instance.capacity();
+      int[] order = BranchAndBoundSolver.ratioOrder(instance);
+      int[] selected = new int[numItems];
+      int count = 0, best = -1;
+      long value = 0, remaining = capacity, bound = -1;
+      for (int i : order) {
+         int weight = instance.weight(i);
+         // an item heavier than the knapsack is in no solution
+         if (weight > capacity)
+            continue;
+         if (best < 0 || instance.value(i) > instance.value(best))
+            best = i;
+         if (weight <= remaining) {
+            selected[count++] = i;
+            value += instance.value(i);
+            remaining -= weight;
+         } else if (bound < 0)
+            // the first item that does not fit is put into the knapsack
+            // partially (rounded down as the optimal total value is an integer)
+            bound = value + remaining * instance.value(i) / weight;
+      }
+      // every item that fits was put into the knapsack, which is optimal
+      if (bound < 0)
+         bound = value;
+      if (best >= 0 && instance.value(best) > value)
+         return KnapsackResult.of(instance, new int[] { best }, bound);
+      return KnapsackResult.of(instance, Arrays.copyOf(selected, count), bound);
+   }
+}
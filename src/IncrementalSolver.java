@@ -0,0 +1,152 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// Keeps the solution of a 0-1 knapsack problem with a fixed capacity up to date
+// while items are appended and removed, instead of filling the whole solution
+// matrix of solve3 again after each change. Only some rows of the matrix are
+// kept: the checkpoint rows after every interval items and the last row.
+//    - Appending an item computes one row from the last row: O(capacity).
+//    - Removing an item keeps the rows before it and computes the rows after
+//      it again from the last checkpoint before it, so removing one of the last
+//      items is cheap and only removing one of the first items costs as much as
+//      a full solve: O((numItems - index + interval) * capacity).
+//    - The total value is the last element of the last row: O(1).
+//    - The items are found by computing the rows of one interval at a time
+//      again from its checkpoint, starting from the last interval, and walking
+//      them backwards as printSolution does: O(numItems * capacity).
+// The result is always the same as the result of TabulationSolver for the
+// current items. The methods are synchronized, so a solver can be shared by
+// the thread that applies the changes and the threads that read the results.
+public final class IncrementalSolver {
+   // the default number of items between two checkpoints
+   public static final int DEFAULT_INTERVAL = 64;
+
+   private final int capacity, interval;
+   // computes each row from the previous row
+   private final RowKernel kernel;
+   // the values and the weights of the current items
+   private int[] values = new int[16], weights = new int[16];
+   private int numItems;
+   // checkpoints.get(k) is the row after the first k * interval items
+   private final ArrayList<int[]> checkpoints = new ArrayList<>();
+   // the row after all the items and a scratch row for computing the next row
+   private int[] last, scratch;
+
+   // creates a solver with no items for the given capacity
+   public IncrementalSolver(int capacity) {
+      this(capacity, DEFAULT_INTERVAL, ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver with no items for the given capacity that keeps a
+   // checkpoint after every interval items and computes the rows with the
+   // given kernel
+   public IncrementalSolver(int capacity, int interval, RowKernel kernel)
+         throws IllegalArgumentException {
+      if (capacity < 0)
+         throw new IllegalArgumentException("negative capacity: " + capacity);
+      if (interval <= 0)
+         throw new IllegalArgumentException("non-positive interval: " + interval);
+      this.capacity = capacity;
+      this.interval = interval;
+      this.kernel = kernel;
+      last = new int[capacity + 1];
+      scratch = new int[capacity + 1];
+      checkpoints.add(new int[capacity + 1]);
+   }
+
+   // returns the number of the current items
+   public synchronized int size() {
+      return numItems;
+   }
+
+   // returns the current items as a problem with the capacity of this solver
+   public synchronized KnapsackInstance instance() {
+      return new KnapsackInstance(Arrays.copyOf(values, numItems),
+            Arrays.copyOf(weights, numItems), capacity);
+   }
+
+   // appends an item with the given value and weight (its index is the number
+   // of the items before it)
+   public synchronized void append(int value, int weight)
+         throws IllegalArgumentException {
+      if (value < 0 || weight <= 0)
+         throw new IllegalArgumentException("invalid item (v:" + value + ", w:"
+               + weight + ")");
+      if (numItems == values.length) {
+         values = Arrays.copyOf(values, numItems * 2);
+         weights = Arrays.copyOf(weights, numItems * 2);
+      }
+      values[numItems] = value;
+      weights[numItems] = weight;
+      numItems++;
+      advance(numItems - 1);
+   }
+
+   // removes the item at the given index (the indexes of the items after it
+   // decrease by one)
+   public synchronized void remove(int index) throws IndexOutOfBoundsException {
+      if (index < 0 || index >= numItems)
+         throw new IndexOutOfBoundsException("index " + index + ", size " + numItems);
+      System.arraycopy(values, index + 1, values, index, numItems - index - 1);
+      System.arraycopy(weights, index + 1, weights, index, numItems - index - 1);
+      numItems--;
+      // the checkpoints after the removed item are no longer valid
+      int valid = index / interval;
+      while (checkpoints.size() > valid + 1)
+         checkpoints.remove(checkpoints.size() - 1);
+      // compute the rows after the last valid checkpoint again
+      System.arraycopy(checkpoints.get(valid), 0, last, 0, capacity + 1);
+      for (int i = valid * interval; i < numItems; i++)
+         advance(i);
+   }
+
+   // returns the total value of the items put into the knapsack
+   public synchronized int value() {
+      return last[capacity];
+   }
+
+   // returns the items put into the knapsack (the same result as solving the
+   // current items with TabulationSolver)
+   public synchronized KnapsackResult result() {
+      int[] selected = new int[numItems];
+      int count = 0, c = capacity;
+      // the rows of the current interval (rows[j] is the row after the first
+      // start + j items)
+      int[][] rows = new int[interval + 1][];
+      // walk the intervals from the last one to the first one
+      for (int k = (numItems - 1) / interval; k >= 0 && c > 0 && numItems > 0; k--) {
+         int start = k * interval, end = Math.min(start + interval, numItems);
+         rows[0] = checkpoints.get(k);
+         for (int i = start; i < end; i++) {
+            if (rows[i - start + 1] == null)
+               rows[i - start + 1] = new int[capacity + 1];
+            kernel.update(rows[i - start], rows[i - start + 1], values[i], weights[i],
+                  capacity);
+         }
+         // the item is in the solution if the total value changes with it
+         for (int i = end - 1; i >= start && c > 0; i--)
+            if (rows[i - start + 1][c] != rows[i - start][c]) {
+               selected[count++] = i;
+               c -= weights[i];
+            }
+      }
+      int[] indexes = Arrays.copyOf(selected, count);
+      long totalValue = 0, totalWeight = 0;
+      for (int i : indexes) {
+         totalValue += values[i];
+         totalWeight += weights[i];
+      }
+      return new KnapsackResult(totalValue, totalWeight, indexes);
+   }
+
+   // computes the row after the item at the given index from the last row and
+   // stores a checkpoint if the row ends an interval
+   private void advance(int index) {
+      kernel.update(last, scratch, values[index], weights[index], capacity);
+      int[] row = last;
+      last = scratch;
+      scratch = row;
+      if ((index + 1) % interval == 0)
+         checkpoints.add(last.clone());
+   }
+}
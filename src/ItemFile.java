@@ -0,0 +1,126 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Reads and writes the items of a knapsack problem in a compact binary format
+// that is read through memory mapping, so that loading a catalog of tens of
+// millions of items neither creates an object for each item nor copies the
+// items into the heap. The file consists of a 16-byte header followed by the
+// value column and the weight column (all numbers are little-endian):
+//    offset 0                  int   MAGIC ("KNAP")
+//    offset 4                  int   VERSION
+//    offset 8                  long  the number of items n
+//    offset 16                 int[] the values of the n items
+//    offset 16 + 4 * n         int[] the weights of the n items
+// The columns are kept as 32-bit ints as all the solvers that read a
+// KnapsackInstance use int values and weights.
+public final class ItemFile {
+   // the first 4 bytes of an item file
+   public static final int MAGIC = 0x4B4E4150;
+   // the version of the format
+   public static final int VERSION = 1;
+   // the size of the header in bytes
+   static final int HEADER_SIZE = 16;
+   // the byte order of all the numbers
+   static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+   // the maximum number of items (a column must fit into a single mapping)
+   public static final int MAX_ITEMS = Integer.MAX_VALUE / Integer.BYTES;
+
+   private ItemFile() {
+   }
+
+   // writes the given item values and weights to the given file
+   public static void write(Path file, int[] values, int[] weights)
+         throws IOException, IllegalArgumentException {
+      if (values.length != weights.length)
+         throw new IllegalArgumentException("values and weights differ in length");
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+         writeHeader(channel, values.length);
+         ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ORDER);
+         writeColumn(channel, buffer, values);
+         writeColumn(channel, buffer, weights);
+      }
+   }
+
+   // maps the given file and returns the problem of its items with the given
+   // capacity (the columns of the problem are views of the mapped file, which
+   // stay valid after this method returns)
+   public static KnapsackInstance map(Path file, int capacity)
+         throws IOException, IllegalArgumentException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         int numItems = readHeader(channel);
+         long columnSize = (long) numItems * Integer.BYTES;
+         if (channel.size() < HEADER_SIZE + 2 * columnSize)
+            throw new IllegalArgumentException(file + " is truncated");
+         IntBuffer values = column(channel, HEADER_SIZE, columnSize);
+         IntBuffer weights = column(channel, HEADER_SIZE + columnSize, columnSize);
+         return KnapsackInstance.ofColumns(values, weights, capacity);
+      }
+   }
+
+   // writes the header of a file with the given number of items at the
+   // beginning of the given channel
+   static void writeHeader(FileChannel channel, long numItems) throws IOException {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+      header.putInt(MAGIC).putInt(VERSION).putLong(numItems).flip();
+      while (header.hasRemaining())
+         channel.write(header, header.position());
+      channel.position(HEADER_SIZE);
+   }
+
+   // reads the header at the beginning of the given channel and returns the
+   // number of items
+   private static int readHeader(FileChannel channel)
+         throws IOException, IllegalArgumentException {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+      while (header.hasRemaining())
+         if (channel.read(header, header.position()) < 0)
+            throw new IllegalArgumentException("not an item file (too short)");
+      header.flip();
+      if (header.getInt() != MAGIC)
+         throw new IllegalArgumentException("not an item file (bad magic number)");
+      int version = header.getInt();
+      if (version != VERSION)
+         throw new IllegalArgumentException("unsupported item file version " + version);
+      long numItems = header.getLong();
+      if (numItems < 0 || numItems > MAX_ITEMS)
+         throw new IllegalArgumentException("invalid number of items " + numItems);
+      return (int) numItems;
+   }
+
+   // writes the given column at the position of the given channel by using
+   // the given buffer
+   private static void writeColumn(FileChannel channel, ByteBuffer buffer,
+         int[] column) throws IOException {
+      buffer.clear();
+      for (int element : column) {
+         if (!buffer.hasRemaining())
+            drain(channel, buffer);
+         buffer.putInt(element);
+      }
+      drain(channel, buffer);
+   }
+
+   // writes the contents of the given buffer to the given channel and clears
+   // the buffer
+   static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining())
+         channel.write(buffer);
+      buffer.clear();
+   }
+
+   // maps the column at the given position with the given size in bytes
+   private static IntBuffer column(FileChannel channel, long position, long size)
+         throws IOException {
+      MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position,
+            size);
+      return mapped.order(ORDER).asIntBuffer();
+   }
+}
@@ -0,0 +1,114 @@
+import java.nio.IntBuffer;
+
+// An immutable 0-1 knapsack problem that consists of the values and the
+// weights of all the available items and the weight capacity of the knapsack.
+// Unlike the static items array in the Knapsack class, an instance of this
+// class can be shared safely by any number of threads solving it at once.
+//
+// The values and the weights are stored as two int columns. The columns are
+// either copies of the given arrays or views of the given buffers (e.g., the
+// memory-mapped columns of an item file), so a problem with millions of items
+// does not need an object or an array for each item.
+public final class KnapsackInstance {
+   // the values and the weights of all the available items (item i has the
+   // value values.get(i) and the weight weights.get(i))
+   private final IntBuffer values, weights;
+   // the weight capacity of the knapsack
+   private final int capacity;
+
+   // creates a problem with the given item values, item weights and weight
+   // capacity (the given arrays are copied so that later changes to them do
+   // not affect the created problem)
+   public KnapsackInstance(int[] values, int[] weights, int capacity)
+         throws IllegalArgumentException {
+      this(IntBuffer.wrap(values.clone()), IntBuffer.wrap(weights.clone()), capacity,
+            true);
+   }
+
+   // creates a problem with the given columns and capacity (the columns are
+   // validated if validate is true)
+   private KnapsackInstance(IntBuffer values, IntBuffer weights, int capacity,
+         boolean validate) throws IllegalArgumentException {
+      if (validate) {
+         // there must be a weight for each value
+         if (values.capacity() != weights.capacity())
+            throw new IllegalArgumentException("values and weights differ in length");
+         // the capacity cannot be negative
+         if (capacity < 0)
+            throw new IllegalArgumentException("negative capacity: " + capacity);
+         // each item must have a non-negative value and a positive weight
+         for (int i = 0; i < values.capacity(); i++)
+            if (values.get(i) < 0 || weights.get(i) <= 0)
+               throw new IllegalArgumentException("invalid item " + i + "(v:"
+                     + values.get(i) + ", w:" + weights.get(i) + ")");
+      }
+      this.values = values;
+      this.weights = weights;
+      this.capacity = capacity;
+   }
+
+   // creates a problem from a 2-D items array in the layout used by the
+   // Knapsack class (items[i][0] is the value and items[i][1] is the weight)
+   public static KnapsackInstance of(int[][] items, int capacity) {
+      int[] values = new int[items.length], weights = new int[items.length];
+      for (int i = 0; i < items.length; i++) {
+         values[i] = items[i][0];
+         weights[i] = items[i][1];
+      }
+      return new KnapsackInstance(values, weights, capacity);
+   }
+
+   // creates a problem whose item values and weights are the remaining
+   // elements of the given buffers (the elements are not copied, so the
+   // buffers must not be modified while the problem is used)
+   public static KnapsackInstance ofColumns(IntBuffer values, IntBuffer weights,
+         int capacity) throws IllegalArgumentException {
+      return new KnapsackInstance(values.slice(), weights.slice(), capacity, true);
+   }
+
+   // returns the number of the available items
+   public int size() {
+      return values.capacity();
+   }
+
+   // returns the value of the item at the given index
+   public int value(int index) {
+      return values.get(index);
+   }
+
+   // returns the weight of the item at the given index
+   public int weight(int index) {
+      return weights.get(index);
+   }
+
+   // returns the weight capacity of the knapsack
+   public int capacity() {
+      return capacity;
+   }
+
+   // returns a problem with the same items and the given weight capacity
+   // (the columns are shared, not copied)
+   public KnapsackInstance withCapacity(int capacity) throws IllegalArgumentException {
+      if (capacity == this.capacity)
+         return this;
+      if (capacity < 0)
+         throw new IllegalArgumentException("negative capacity: " + capacity);
+      return new KnapsackInstance(values, weights, capacity, false);
+   }
+
+   @Override
+   public boolean equals(Object other) {
+      if (this == other)
+         return true;
+      if (!(other instanceof KnapsackInstance))
+         return false;
+      KnapsackInstance that = (KnapsackInstance) other;
+      return capacity == that.capacity && values.equals(that.values)
+            && weights.equals(that.weights);
+   }
+
+   @Override
+   public int hashCode() {
+      return 31 * (31 * values.hashCode() + weights.hashCode()) + capacity;
+   }
+}
@@ -0,0 +1,121 @@
+import java.util.Arrays;
+
+// The immutable solution of a 0-1 knapsack problem that stores the indexes of
+// the items put into the knapsack (in ascending order) together with their
+// total value and their total weight. An approximate solution also stores a
+// proven upper bound for the optimal total value (the bound of an exact
+// solution is its total value).
+public final class KnapsackResult {
+   // the total value and the total weight of the items put into the knapsack
+   // (long is used as the sums of many int values or weights may overflow int)
+   private final long totalValue, totalWeight;
+   // the indexes of the items put into the knapsack in ascending order
+   private final int[] indexes;
+   // no solution of the problem has a greater total value than this bound
+   private final long upperBound;
+
+   // creates an exact solution from the given total value, total weight and
+   // item indexes (the indexes are copied and sorted)
+   public KnapsackResult(long totalValue, long totalWeight, int[] indexes) {
+      this(totalValue, totalWeight, indexes, totalValue);
+   }
+
+   // creates a solution from the given total value, total weight, item
+   // indexes and upper bound for the optimal total value
+   public KnapsackResult(long totalValue, long totalWeight, int[] indexes,
+         long upperBound) throws IllegalArgumentException {
+      if (upperBound < totalValue)
+         throw new IllegalArgumentException("upper bound " + upperBound
+               + " < total value " + totalValue);
+      this.totalValue = totalValue;
+      this.totalWeight = totalWeight;
+      this.indexes = indexes.clone();
+      Arrays.sort(this.indexes);
+      this.upperBound = upperBound;
+   }
+
+   // creates the solution of the given problem that puts the items with the
+   // given indexes into the knapsack (the totals are computed from the items)
+   public static KnapsackResult of(KnapsackInstance instance, int[] indexes) {
+      long totalValue = 0, totalWeight = 0;
+      for (int i : indexes) {
+         totalValue += instance.value(i);
+         totalWeight += instance.weight(i);
+      }
+      return new KnapsackResult(totalValue, totalWeight, indexes);
+   }
+
+   // creates the approximate solution of the given problem that puts the items
+   // with the given indexes into the knapsack and whose optimal total value is
+   // at most the given bound (a bound below the total value of the items is
+   // raised to that total value)
+   public static KnapsackResult of(KnapsackInstance instance, int[] indexes,
+         long upperBound) {
+      KnapsackResult result = of(instance, indexes);
+      return new KnapsackResult(result.totalValue, result.totalWeight, result.indexes,
+            Math.max(upperBound, result.totalValue));
+   }
+
+   // returns the total value of the items put into the knapsack
+   public long totalValue() {
+      return totalValue;
+   }
+
+   // returns the total weight of the items put into the knapsack
+   public long totalWeight() {
+      return totalWeight;
+   }
+
+   // returns an upper bound for the optimal total value of the problem (the
+   // total value if the solution is exact)
+   public long upperBound() {
+      return upperBound;
+   }
+
+   // returns true if the solution is proven to be optimal
+   public boolean isExact() {
+      return upperBound == totalValue;
+   }
+
+   // returns the relative error bound of the solution: 1 - totalValue /
+   // upperBound (0 for an exact solution)
+   public double errorBound() {
+      return upperBound == 0 ? 0 : 1 - (double) totalValue / upperBound;
+   }
+
+   // returns the indexes of the items put into the knapsack in ascending order
+   public int[] indexes() {
+      return indexes.clone();
+   }
+
+   @Override
+   public boolean equals(Object other) {
+      if (this == other)
+         return true;
+      if (!(other instanceof KnapsackResult))
+         return false;
+      KnapsackResult that = (KnapsackResult) other;
+      return totalValue == that.totalValue && totalWeight == that.totalWeight
+            && upperBound == that.upperBound && Arrays.equals(indexes, that.indexes);
+   }
+
+   @Override
+   public int hashCode() {
+      return 31 * (31 * (31 * Long.hashCode(totalValue) + Long.hashCode(totalWeight))
+            + Long.hashCode(upperBound)) + Arrays.hashCode(indexes);
+   }
+
+   // returns the solution in the format printed by the Knapsack class (using
+   // 1-based item numbers)
+   @Override
+   public String toString() {
+      StringBuilder builder = new StringBuilder("The items in the knapsack are");
+      for (int i : indexes)
+         builder.append(" Item").append(i + 1);
+      builder.append("\nThe total value of the items: ").append(totalValue);
+      builder.append("\nThe total weight of the items: ").append(totalWeight);
+      if (!isExact())
+         builder.append("\nThe optimal total value is at most: ").append(upperBound);
+      return builder.toString();
+   }
+}
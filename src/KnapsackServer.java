@@ -0,0 +1,209 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// A long-running local HTTP server that solves knapsack problems with a
+// SolverService, so that the JVM starts and the solvers are compiled by the
+// JIT once instead of for each problem. It only listens on the loopback
+// address. Each request is handled on a virtual thread if the JVM has them
+// (Java 21 or later, found by reflection), otherwise on a thread of a cached
+// thread pool.
+//
+//    POST /solve?capacity=50[&strategy=TABULATION]
+//       The body has an item on each line in the format of CsvItemImporter
+//       ("value,weight"; empty lines, '#' comments and a header are skipped).
+//       The response is a JSON object with the strategy, the total value, the
+//       total weight, the upper bound and the (0-based) item indexes. A
+//       strategy that is too large for the problem (SolverService.check) or an
+//       invalid request is answered with 400, any other failure with 500.
+//    GET /stats
+//       The counters of the service as a JSON object.
+//
+// Usage: java KnapsackServer [port [cacheItems]]
+public final class KnapsackServer {
+   // the default port
+   public static final int DEFAULT_PORT = 8642;
+
+   private final HttpServer server;
+   private final ExecutorService executor;
+   private final SolverService service;
+
+   // creates a server on the given loopback port (0 for any free port) that
+   // solves the problems with the given service
+   public KnapsackServer(int port, SolverService service) throws IOException {
+      this.service = service;
+      server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+            port), 0);
+      executor = newThreadPerTaskExecutor();
+      server.setExecutor(executor);
+      server.createContext("/solve", this::handleSolve);
+      server.createContext("/stats", this::handleStats);
+   }
+
+   // starts the server
+   public void start() {
+      server.start();
+   }
+
+   // stops the server (the requests in progress are given a second to finish)
+   public void stop() {
+      server.stop(1);
+      executor.shutdown();
+   }
+
+   // returns the port of the server
+   public int port() {
+      return server.getAddress().getPort();
+   }
+
+   // returns an executor that runs each task on a new virtual thread if the
+   // JVM has virtual threads, otherwise on a thread of a cached thread pool
+   static ExecutorService newThreadPerTaskExecutor() {
+      try {
+         return (ExecutorService) Executors.class
+               .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+         // virtual threads are not available before Java 21
+         return Executors.newCachedThreadPool();
+      }
+   }
+
+   // handles a request for solving a problem
+   private void handleSolve(HttpExchange exchange) throws IOException {
+      try (exchange) {
+         if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 405, "{\"error\":\"use POST\"}");
+            return;
+         }
+         String response;
+         try {
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+            String capacity = query.get("capacity");
+            if (capacity == null)
+               throw new IllegalArgumentException("missing capacity");
+            KnapsackInstance instance = readItems(exchange, Integer.parseInt(capacity));
+            String name = query.get("strategy");
+            KnapsackStrategy strategy = name != null ? KnapsackStrategy.valueOf(name)
+                  : SolverService.choose(instance);
+            response = toJson(strategy, service.solve(instance, strategy));
+         } catch (IllegalArgumentException e) {
+            // also thrown for invalid numbers, unknown strategies and problems
+            // that are too large for the requested strategy
+            send(exchange, 400, "{\"error\":" + quote(String.valueOf(e.getMessage())) + "}");
+            return;
+         } catch (RuntimeException | Error e) {
+            // any other failure of the solve (e.g., OutOfMemoryError) is
+            // reported instead of dropping the connection
+            send(exchange, 500, "{\"error\":" + quote(e.toString()) + "}");
+            return;
+         }
+         send(exchange, 200, response);
+      }
+   }
+
+   // handles a request for the counters of the service
+   private void handleStats(HttpExchange exchange) throws IOException {
+      try (exchange) {
+         send(exchange, 200, "{\"requests\":" + service.requests() + ",\"cacheHits\":"
+               + service.cacheHits() + ",\"coalesced\":" + service.coalesced()
+               + ",\"solves\":" + service.solves() + ",\"cacheSize\":"
+               + service.cacheSize() + "}");
+      }
+   }
+
+   // reads the items of the request body (in the CSV format of
+   // CsvItemImporter) into a problem with the given capacity
+   private static KnapsackInstance readItems(HttpExchange exchange, int capacity)
+         throws IOException, IllegalArgumentException {
+      int[][] columns = { new int[16], new int[16] };
+      int numItems = (int) CsvItemImporter.readItems(new BufferedReader(
+            new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)),
+            "request body", new CsvItemImporter.ItemConsumer() {
+               private int size;
+
+               @Override
+               public void accept(int value, int weight) {
+                  if (size == columns[0].length) {
+                     columns[0] = Arrays.copyOf(columns[0], size * 2);
+                     columns[1] = Arrays.copyOf(columns[1], size * 2);
+                  }
+                  columns[0][size] = value;
+                  columns[1][size++] = weight;
+               }
+            });
+      return new KnapsackInstance(Arrays.copyOf(columns[0], numItems),
+            Arrays.copyOf(columns[1], numItems), capacity);
+   }
+
+   // returns the parameters of the query of the given URI
+   private static Map<String, String> parseQuery(URI uri) {
+      Map<String, String> parameters = new HashMap<>();
+      String query = uri.getQuery();
+      if (query != null)
+         for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0)
+               parameters.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+         }
+      return parameters;
+   }
+
+   // returns the given result as a JSON object
+   static String toJson(KnapsackStrategy strategy, KnapsackResult result) {
+      StringBuilder builder = new StringBuilder("{\"strategy\":\"").append(strategy)
+            .append("\",\"totalValue\":").append(result.totalValue())
+            .append(",\"totalWeight\":").append(result.totalWeight())
+            .append(",\"upperBound\":").append(result.upperBound()).append(",\"items\":[");
+      int[] indexes = result.indexes();
+      for (int k = 0; k < indexes.length; k++)
+         builder.append(k == 0 ? "" : ",").append(indexes[k]);
+      return builder.append("]}").toString();
+   }
+
+   // returns the given string as a JSON string
+   private static String quote(String string) {
+      StringBuilder builder = new StringBuilder("\"");
+      for (char c : string.toCharArray())
+         if (c == '"' || c == '\\')
+            builder.append('\\').append(c);
+         else if (c < ' ')
+            builder.append(String.format("\\u%04x", (int) c));
+         else
+            builder.append(c);
+      return builder.append('"').toString();
+   }
+
+   // sends the given JSON response with the given status code
+   private static void send(HttpExchange exchange, int status, String json)
+         throws IOException {
+      byte[] body = json.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(status, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+         out.write(body);
+      }
+   }
+
+   public static void main(String[] args) throws IOException {
+      int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+      long cacheItems = args.length > 1 ? Long.parseLong(args[1])
+            : SolverService.DEFAULT_CACHE_ITEMS;
+      KnapsackServer server = new KnapsackServer(port, new SolverService(cacheItems));
+      server.start();
+      System.out.println("Solving knapsack problems at http://localhost:" + server.port()
+            + "/solve");
+   }
+}
@@ -0,0 +1,9 @@
+// A strategy for solving the 0-1 knapsack problem. Implementations keep all
+// the state of a solve (solution matrices, counters, etc.) local to the call
+// of the solve method, so that a single solver can be used by many threads to
+// solve different problems at the same time.
+public interface KnapsackSolver {
+   // solves the given 0-1 knapsack problem and returns the items put into the
+   // knapsack together with their total value and total weight
+   KnapsackResult solve(KnapsackInstance instance);
+}
@@ -0,0 +1,108 @@
+import java.util.concurrent.ForkJoinPool;
+
+// The interchangeable approaches for solving the 0-1 knapsack problem that can
+// be selected by name (e.g., from the command line or a configuration file).
+public enum KnapsackStrategy {
+   // checks all possible item subsets and returns the total value (solve1)
+   RECURSIVE {
+      @Override
+      public KnapsackSolver solver() {
+         return new RecursiveSolver();
+      }
+   },
+   // checks all possible item subsets and returns the item indexes (solve2)
+   SUBSETS {
+      @Override
+      public KnapsackSolver solver() {
+         return new SubsetSolver();
+      }
+   },
+   // checks all possible item subsets with long masks and without allocation
+   EXHAUSTIVE {
+      @Override
+      public KnapsackSolver solver() {
+         return new ExhaustiveSolver();
+      }
+   },
+   // depth-first branch and bound with the fractional knapsack upper bound
+   BRANCH_AND_BOUND {
+      @Override
+      public KnapsackSolver solver() {
+         return new BranchAndBoundSolver();
+      }
+   },
+   // meet in the middle over the subsets of the two halves of the items
+   MEET_IN_THE_MIDDLE {
+      @Override
+      public KnapsackSolver solver() {
+         return new MeetInTheMiddleSolver(ForkJoinPool.commonPool());
+      }
+   },
+   // bottom-up dynamic programming with tabulation (solve3)
+   TABULATION {
+      @Override
+      public KnapsackSolver solver() {
+         return new TabulationSolver();
+      }
+   },
+   // top-down dynamic programming with memoization (knapsackMemoization)
+   MEMOIZATION {
+      @Override
+      public KnapsackSolver solver() {
+         return new MemoizationSolver();
+      }
+   },
+   // tabulation with two rows and divide and conquer reconstruction
+   ROLLING_TABULATION {
+      @Override
+      public KnapsackSolver solver() {
+         return new RollingTabulationSolver();
+      }
+   },
+   // ROLLING_TABULATION with the rows computed on the common fork/join pool
+   PARALLEL_TABULATION {
+      @Override
+      public KnapsackSolver solver() {
+         return new RollingTabulationSolver(new ParallelRowKernel());
+      }
+   },
+   // ROLLING_TABULATION with the rows computed by the SIMD kernel (or by the
+   // scalar kernel if the Vector API is not available)
+   VECTOR_TABULATION {
+      @Override
+      public KnapsackSolver solver() {
+         return new RollingTabulationSolver(RowKernels.vectorOrScalar());
+      }
+   },
+   // tabulation with two rows and a bit for each element of the matrix
+   DECISION_BITS {
+      @Override
+      public KnapsackSolver solver() {
+         return new DecisionMatrixSolver();
+      }
+   },
+   // dynamic programming over the non-dominated (weight, value) states
+   PARETO {
+      @Override
+      public KnapsackSolver solver() {
+         return new ParetoSolver();
+      }
+   },
+   // ratio-sorted greedy with the best single item (a 1/2-approximation)
+   GREEDY {
+      @Override
+      public KnapsackSolver solver() {
+         return new GreedySolver();
+      }
+   },
+   // dynamic programming over scaled values (within 1% of the optimum)
+   FPTAS {
+      @Override
+      public KnapsackSolver solver() {
+         return new FptasSolver();
+      }
+   };
+
+   // returns a solver that uses this approach
+   public abstract KnapsackSolver solver();
+}
@@ -0,0 +1,46 @@
+// The filled solution matrix of the bottom-up dynamic programming approach for
+// a set of items and a maximum capacity. As the last row of the matrix holds
+// the maximum total value for every capacity 0, 1, ... , maxCapacity, a single
+// table answers the 0-1 knapsack problem of the same items for any number of
+// capacities up to the maximum one, and the items of each answer are found on
+// demand by walking the matrix backwards. A table is not modified after it is
+// filled, so it can be queried by many threads at once.
+public final class KnapsackTable {
+   // the items and the maximum capacity
+   private final KnapsackInstance instance;
+   // the solution matrix with a row for each item and a column for each
+   // capacity 0, 1, ... , maxCapacity
+   private final int[][] solution;
+
+   KnapsackTable(KnapsackInstance instance, int[][] solution) {
+      this.instance = instance;
+      this.solution = solution;
+   }
+
+   // returns the maximum capacity that the table can answer
+   public int maxCapacity() {
+      return instance.capacity();
+   }
+
+   // returns the total value of the items put into a knapsack with the given
+   // capacity
+   public int value(int capacity) throws IllegalArgumentException {
+      checkCapacity(capacity);
+      return solution.length == 0 ? 0 : solution[solution.length - 1][capacity];
+   }
+
+   // returns the items put into a knapsack with the given capacity
+   public KnapsackResult result(int capacity) throws IllegalArgumentException {
+      checkCapacity(capacity);
+      if (solution.length == 0 || capacity == 0)
+         return new KnapsackResult(0, 0, new int[0]);
+      return TabulationSolver.reconstruct(instance, solution, capacity);
+   }
+
+   // the given capacity must be in [0, maxCapacity]
+   private void checkCapacity(int capacity) throws IllegalArgumentException {
+      if (capacity < 0 || capacity > instance.capacity())
+         throw new IllegalArgumentException("capacity " + capacity
+               + " is not in [0, " + instance.capacity() + "]");
+   }
+}
@@ -0,0 +1,77 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends random problems to a running KnapsackServer from many concurrent
+// requests and prints the throughput and the latency percentiles. The problems
+// are drawn from a fixed number of distinct problems, so that the cache and the
+// coalescing of the server are exercised as well.
+//
+// Usage: java LoadTestClient [url [requests [concurrency [problems [numItems
+//        [capacity]]]]]]
+// e.g.:  java LoadTestClient http://localhost:8642 10000 64 100 200 10000
+public final class LoadTestClient {
+   public static void main(String[] args) throws Exception {
+      String url = args.length > 0 ? args[0] : "http://localhost:" + KnapsackServer.DEFAULT_PORT;
+      int requests = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+      int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+      int problems = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+      int numItems = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+      int capacity = args.length > 5 ? Integer.parseInt(args[5]) : 10000;
+      // the bodies of the distinct problems (uncorrelated values and weights)
+      Random random = new Random(42);
+      String[] bodies = new String[problems];
+      for (int p = 0; p < problems; p++) {
+         StringBuilder body = new StringBuilder();
+         for (int i = 0; i < numItems; i++)
+            body.append(1 + random.nextInt(1000)).append(',')
+                  .append(1 + random.nextInt(capacity / 10 + 1)).append('\n');
+         bodies[p] = body.toString();
+      }
+      URI uri = URI.create(url + "/solve?capacity=" + capacity);
+      HttpClient client = HttpClient.newHttpClient();
+      // at most concurrency requests are in flight at any time
+      Semaphore permits = new Semaphore(concurrency);
+      long[] latencies = new long[requests];
+      AtomicInteger failures = new AtomicInteger();
+      CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+      long start = System.nanoTime();
+      for (int k = 0; k < requests; k++) {
+         permits.acquire();
+         int request = k;
+         HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+               .POST(HttpRequest.BodyPublishers.ofString(bodies[random.nextInt(problems)]))
+               .build();
+         long sent = System.nanoTime();
+         responses[k] = client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+               .whenComplete((response, error) -> {
+                  latencies[request] = System.nanoTime() - sent;
+                  if (error != null || response.statusCode() != 200)
+                     failures.incrementAndGet();
+                  permits.release();
+               });
+      }
+      CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+      double seconds = (System.nanoTime() - start) / 1e9;
+      Arrays.sort(latencies);
+      System.out.printf("%d requests (%d failed) in %.2f s: %.0f requests/s%n", requests,
+            failures.get(), seconds, requests / seconds);
+      System.out.printf("latency (ms): p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+            percentile(latencies, 0.50), percentile(latencies, 0.90),
+            percentile(latencies, 0.99), latencies[requests - 1] / 1e6);
+      HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create(url
+            + "/stats")).build(), HttpResponse.BodyHandlers.ofString());
+      System.out.println("server: " + stats.body());
+   }
+
+   // returns the given percentile of the given sorted latencies in milliseconds
+   private static double percentile(long[] sorted, double fraction) {
+      return sorted[(int) Math.min(sorted.length - 1, fraction * sorted.length)] / 1e6;
+   }
+}
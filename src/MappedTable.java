@@ -0,0 +1,132 @@
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// A solution matrix of ints stored outside of the heap in a memory-mapped
+// scratch file, for matrices that are larger than the heap or than the 2^31
+// elements of a Java array. The elements are addressed by 64-bit indexes
+// (row * columns + column) and the file is mapped in chunks of 2^28 ints
+// (1 GB), so a row may span two chunks. The scratch file is deleted when the
+// table is closed, but Java cannot unmap a buffer: the mapped memory and the
+// disk space of the deleted file are only released when the garbage collector
+// frees the chunks, which may be long after close. A table can be reshaped to
+// any size up to the number of elements it was created with, so a single
+// table can be reused for many solves instead of mapping a new file for each.
+public final class MappedTable implements AutoCloseable {
+   // the number of ints in a chunk (a power of 2)
+   private static final int CHUNK_SHIFT = 28;
+   private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+   private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+   private int rows, columns;
+   // the number of mapped elements
+   private final long cells;
+   // the scratch file and the mapped chunks (null after close)
+   private final FileChannel channel;
+   private final IntBuffer[] chunks;
+
+   // creates a table with the given number of rows and columns (all zero) in
+   // a new scratch file in the given directory
+   public MappedTable(int rows, int columns, Path directory)
+         throws IOException, IllegalArgumentException {
+      if (rows < 0 || columns < 0)
+         throw new IllegalArgumentException("invalid size " + rows + " x " + columns);
+      this.rows = rows;
+      this.columns = columns;
+      Path file = Files.createTempFile(directory, "knapsack", ".table");
+      channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE);
+      cells = (long) rows * columns;
+      chunks = new IntBuffer[(int) ((cells + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+      try {
+         for (int k = 0; k < chunks.length; k++) {
+            long size = Math.min(CHUNK_SIZE, cells - ((long) k << CHUNK_SHIFT));
+            chunks[k] = channel.map(FileChannel.MapMode.READ_WRITE,
+                  (long) k * CHUNK_SIZE * Integer.BYTES, size * Integer.BYTES)
+                  .order(ByteOrder.nativeOrder()).asIntBuffer();
+         }
+      } catch (IOException | RuntimeException e) {
+         channel.close();
+         throw e;
+      }
+   }
+
+   // returns the number of rows
+   public int rows() {
+      return rows;
+   }
+
+   // returns the number of columns
+   public int columns() {
+      return columns;
+   }
+
+   // returns the number of mapped elements (the maximum number of elements
+   // of the table after reshape)
+   public long cells() {
+      return cells;
+   }
+
+   // changes the number of rows and columns of the table without clearing
+   // its elements (the elements are addressed by the new number of columns)
+   public void reshape(int rows, int columns) throws IllegalArgumentException {
+      if (rows < 0 || columns < 0 || (long) rows * columns > cells)
+         throw new IllegalArgumentException("invalid size " + rows + " x " + columns
+               + " for " + cells + " elements");
+      this.rows = rows;
+      this.columns = columns;
+   }
+
+   // returns the element at the given row and column
+   public int get(int row, int column) {
+      long index = (long) row * columns + column;
+      return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+   }
+
+   // sets the element at the given row and column
+   public void set(int row, int column, int value) {
+      long index = (long) row * columns + column;
+      chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+   }
+
+   // copies the given row into the given array
+   public void readRow(int row, int[] destination) {
+      long index = (long) row * columns;
+      for (int copied = 0; copied < columns;) {
+         IntBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)].duplicate();
+         int offset = (int) (index & CHUNK_MASK);
+         int length = Math.min(columns - copied, chunk.capacity() - offset);
+         chunk.position(offset);
+         chunk.get(destination, copied, length);
+         copied += length;
+         index += length;
+      }
+   }
+
+   // copies the given array into the given row
+   public void writeRow(int row, int[] source) {
+      long index = (long) row * columns;
+      for (int copied = 0; copied < columns;) {
+         IntBuffer chunk = chunks[(int) (index >>> CHUNK_SHIFT)].duplicate();
+         int offset = (int) (index & CHUNK_MASK);
+         int length = Math.min(columns - copied, chunk.capacity() - offset);
+         chunk.position(offset);
+         chunk.put(source, copied, length);
+         copied += length;
+         index += length;
+      }
+   }
+
+   // deletes the scratch file and drops the mapped chunks, so that the
+   // garbage collector can release them (see above)
+   @Override
+   public void close() throws IOException {
+      Arrays.fill(chunks, null);
+      channel.close();
+   }
+}
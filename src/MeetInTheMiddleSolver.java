@@ -0,0 +1,221 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Solves the 0-1 knapsack problem by meet in the middle (Horowitz and Sahni):
+// the items are split into two halves, the (weight, value) pairs of all the
+// subsets of each half are enumerated, and the best pair of subsets is found by
+// a single sweep over both lists. The running time is O(2^(n/2)) regardless of
+// the capacity, so this solver works for a few dozen items with weights and
+// capacities that are far too large for tabulation. The weights, the values and
+// the capacity are longs (up to 10^12 and more), unlike the int values and
+// weights of KnapsackInstance.
+//
+// The subsets of a half are enumerated as primitive arrays sorted by weight:
+// adding an item merges the current list with a copy of itself shifted by the
+// weight and the value of the item, so no sorting is needed. While merging, a
+// subset is dropped if it weighs more than the capacity or if a lighter (or
+// equally heavy) subset has at least the same value, so each list only keeps the
+// dominance frontier whose values strictly increase with the weights. For each
+// subset of the first half in increasing weight, the heaviest subset of the
+// second half that still fits is then found by a pointer that only moves down.
+public final class MeetInTheMiddleSolver implements KnapsackSolver {
+   // the maximum number of items (30 items in each half)
+   public static final int MAX_ITEMS = 60;
+
+   // the pool that enumerates the first half while the calling thread
+   // enumerates the second half (null if both halves are enumerated serially)
+   private final ForkJoinPool pool;
+
+   // creates a solver that enumerates both halves in the calling thread
+   public MeetInTheMiddleSolver() {
+      this(null);
+   }
+
+   // creates a solver that enumerates the first half on the given pool while
+   // the calling thread enumerates the second half
+   public MeetInTheMiddleSolver(ForkJoinPool pool) {
+      this.pool = pool;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      int numItems = instance.size();
+      long[] values = new long[numItems], weights = new long[numItems];
+      for (int i = 0; i < numItems; i++) {
+         values[i] = instance.value(i);
+         weights[i] = instance.weight(i);
+      }
+      return solve(values, weights, instance.capacity());
+   }
+
+   // solves the 0-1 knapsack problem with the given item values, item weights
+   // and weight capacity
+   public KnapsackResult solve(long[] values, long[] weights, long capacity)
+         throws IllegalArgumentException {
+      int numItems = values.length;
+      if (weights.length != numItems)
+         throw new IllegalArgumentException("values and weights differ in length");
+      if (numItems > MAX_ITEMS)
+         throw new IllegalArgumentException("too many items for meet in the middle: "
+               + numItems + " > " + MAX_ITEMS);
+      if (capacity < 0)
+         throw new IllegalArgumentException("negative capacity: " + capacity);
+      for (int i = 0; i < numItems; i++)
+         if (values[i] < 0 || weights[i] <= 0)
+            throw new IllegalArgumentException("invalid item " + i + "(v:"
+                  + values[i] + ", w:" + weights[i] + ")");
+      SolveMetrics metrics = new SolveMetrics("MeetInTheMiddleSolver", numItems, capacity);
+      // enumerate the subsets of both halves (the first half on the pool)
+      int middle = numItems / 2;
+      Frontier first, second;
+      if (pool != null) {
+         ForkJoinTask<Frontier> task = pool.submit(
+               () -> Frontier.enumerate(values, weights, 0, middle, capacity));
+         second = Frontier.enumerate(values, weights, middle, numItems, capacity);
+         first = task.join();
+      } else {
+         first = Frontier.enumerate(values, weights, 0, middle, capacity);
+         second = Frontier.enumerate(values, weights, middle, numItems, capacity);
+      }
+      metrics.cellsComputed += first.states + second.states;
+      metrics.tableBytes(2 * (first.bytes() + second.bytes()));
+      // for each subset of the first half in increasing weight, find the
+      // heaviest subset of the second half that fits into the remaining
+      // capacity (it has the greatest value as the values increase)
+      long bestValue = -1, bestWeight = 0;
+      int bestFirst = 0, bestSecond = 0;
+      for (int a = 0, b = second.size - 1; a < first.size && b >= 0; a++) {
+         long remaining = capacity - first.weights[a];
+         while (b >= 0 && second.weights[b] > remaining)
+            b--;
+         if (b >= 0 && first.values[a] + second.values[b] > bestValue) {
+            bestValue = first.values[a] + second.values[b];
+            bestWeight = first.weights[a] + second.weights[b];
+            bestFirst = first.masks[a];
+            bestSecond = second.masks[b];
+         }
+      }
+      metrics.fillDone();
+      // convert the masks of the best subsets to the item indexes
+      int[] indexes = new int[Integer.bitCount(bestFirst) + Integer.bitCount(bestSecond)];
+      int count = 0;
+      for (int mask = bestFirst; mask != 0; mask &= mask - 1)
+         indexes[count++] = Integer.numberOfTrailingZeros(mask);
+      for (int mask = bestSecond; mask != 0; mask &= mask - 1)
+         indexes[count++] = middle + Integer.numberOfTrailingZeros(mask);
+      return metrics.finish(new KnapsackResult(bestValue, bestWeight, indexes));
+   }
+
+   // the dominance frontier of the subsets of the items in a range: the first
+   // size elements of the arrays are the total weights (strictly increasing),
+   // the total values (strictly increasing) and the masks of the subsets (bit
+   // j is set if the item at index from + j is in the subset)
+   private static final class Frontier {
+      // the initial length of the arrays
+      private static final int INITIAL_LENGTH = 16;
+
+      // the maximum length of the arrays
+      private final int maxLength;
+      long[] weights, values;
+      int[] masks;
+      int size;
+      // the number of the subsets kept by all the merges
+      long states;
+
+      private Frontier(int maxLength) {
+         this.maxLength = maxLength;
+         int length = Math.min(INITIAL_LENGTH, maxLength);
+         weights = new long[length];
+         values = new long[length];
+         masks = new int[length];
+      }
+
+      // enumerates the frontier of the subsets of the items in [from, to)
+      // whose total weights do not exceed the given capacity
+      static Frontier enumerate(long[] values, long[] weights, int from, int to,
+            long capacity) {
+         // the list can at most double with each item, and it cannot be longer
+         // than capacity + 1 as the weights strictly increase (the arrays only
+         // grow up to this length as needed, since the dominated subsets that
+         // are dropped usually keep the list far shorter)
+         int maxLength = 1 << (to - from);
+         if (capacity < maxLength)
+            maxLength = (int) capacity + 1;
+         Frontier current = new Frontier(maxLength), next = new Frontier(maxLength);
+         // the empty subset
+         current.size = 1;
+         for (int i = from; i < to; i++) {
+            if (weights[i] > capacity)
+               continue;
+            next.mergeShifted(current, weights[i], values[i], 1 << (i - from), capacity);
+            next.states = current.states + next.size;
+            Frontier frontier = current;
+            current = next;
+            next = frontier;
+         }
+         return current;
+      }
+
+      // replaces the arrays (whose elements are not needed anymore) with
+      // arrays of at least the given length, doubling their length at least
+      private void ensureLength(int length) {
+         if (length <= masks.length)
+            return;
+         length = (int) Math.min(Math.max(length, 2L * masks.length), maxLength);
+         weights = new long[length];
+         values = new long[length];
+         masks = new int[length];
+      }
+
+      // returns the size of the arrays in bytes
+      long bytes() {
+         return masks.length * 20L;
+      }
+
+      // stores the frontier of the subsets in the given list merged with the
+      // same subsets plus an item with the given weight, value and mask bit
+      private void mergeShifted(Frontier list, long weight, long value, int bit,
+            long capacity) {
+         size = 0;
+         int a = 0, b = 0;
+         // the subsets in the list plus the item that fit into the knapsack
+         // form a prefix of the list as the list is sorted by weight
+         int shifted = 0;
+         while (shifted < list.size && list.weights[shifted] <= capacity - weight)
+            shifted++;
+         ensureLength((int) Math.min((long) list.size + shifted, maxLength));
+         while (a < list.size || b < shifted) {
+            // take the lighter subset of the two lists (the more valuable one
+            // if both have the same weight)
+            boolean takeA;
+            if (b == shifted)
+               takeA = true;
+            else if (a == list.size)
+               takeA = false;
+            else {
+               long weightA = list.weights[a], weightB = list.weights[b] + weight;
+               takeA = weightA < weightB || weightA == weightB
+                     && list.values[a] >= list.values[b] + value;
+            }
+            long w, v;
+            int m;
+            if (takeA) {
+               w = list.weights[a];
+               v = list.values[a];
+               m = list.masks[a++];
+            } else {
+               w = list.weights[b] + weight;
+               v = list.values[b] + value;
+               m = list.masks[b++] | bit;
+            }
+            // keep the subset only if it is more valuable than all the
+            // lighter subsets that are kept
+            if (size == 0 || v > values[size - 1]) {
+               weights[size] = w;
+               values[size] = v;
+               masks[size++] = m;
+            }
+         }
+      }
+   }
+}
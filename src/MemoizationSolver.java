@@ -0,0 +1,283 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem by using top-down dynamic programming with
+// memoization as the knapsackMemoization method of the KnapsackProblem class
+// does. The solution matrix is created for each call of the solve method, so
+// that concurrent calls do not share any state.
+//
+// Unlike knapsackMemoization, the recursion is driven by an explicit stack of
+// the pending subproblems, so the depth of the recursion (the number of items)
+// is not limited by the size of the thread stack. The computed subproblems are
+// stored as primitive ints with the sentinel NOT_COMPUTED: in a flat int array
+// with an element for each subproblem if a large part of the solution matrix
+// may be visited (4 bytes for each element), otherwise in a hash table with
+// open addressing that only stores the visited subproblems (at least 24 bytes
+// for each visited element, as the table is kept at most half full).
+public final class MemoizationSolver implements KnapsackSolver {
+   // the value of a subproblem that is not computed yet
+   static final int NOT_COMPUTED = -1;
+   // the maximum number of elements of a dense solution matrix (the maximum
+   // length of an int array)
+   private static final long MAX_DENSE_CELLS = Integer.MAX_VALUE - 8;
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("MemoizationSolver", instance);
+      return metrics.finish(new Memo(instance, metrics).solve());
+   }
+
+   // returns the estimated size in bytes of the computed subproblems of the
+   // given problem (the solution matrix if it is dense, otherwise the hash
+   // table of the subproblems that can be visited)
+   static long tableBytes(KnapsackInstance instance) {
+      int numItems = instance.size();
+      long columns = instance.capacity() + 1L, cells = numItems * columns;
+      long reachable = reachable(numItems, columns, cells);
+      return isDense(cells, reachable) ? cells * 4 : reachable * 24;
+   }
+
+   // returns an upper bound of the number of subproblems that can be visited
+   // in a solution matrix with the given number of items, columns and
+   // elements: at most min(columns, 2^k) subproblems with numItems - k items
+   // can be visited (the bound is at most the number of elements)
+   private static long reachable(int numItems, long columns, long cells) {
+      long reachable = 0;
+      for (int k = 0; k < numItems && reachable < cells; k++)
+         reachable += k < 62 ? Math.min(columns, 1L << k) : columns;
+      return Math.min(reachable, cells);
+   }
+
+   // returns true if the computed subproblems of a solution matrix with the
+   // given number of elements, of which the given number can be visited, are
+   // stored in a flat int array: the matrix is sparse if there are few items or
+   // if only a small part of the matrix can be visited (the hash table only
+   // saves memory if less than 1/6 of the matrix is visited, as it takes at
+   // least 24 bytes for each visited element instead of 4 bytes for each
+   // element, and only a matrix that does not fit into an int array is stored
+   // in the hash table regardless of its density)
+   private static boolean isDense(long cells, long reachable) {
+      return cells <= MAX_DENSE_CELLS && reachable * 6 >= cells;
+   }
+
+   // the state of a single solve: the problem, the computed subproblems and
+   // the stack of the pending subproblems
+   private static final class Memo {
+      private final KnapsackInstance items;
+      private final int columns;
+      // the computed subproblems (exactly one of them is used)
+      private final int[] dense;
+      private final LongIntHashMap sparse;
+      // the explicit stack: the number of items and the capacity of each
+      // pending subproblem (each subproblem on the stack has one item less than
+      // the one below it, so the stack never has more than numItems + 1 frames)
+      private final int[] stackItems, stackCapacities;
+      // the measurements of the solve and the numbers of the calls that the
+      // recursive knapsackMemoization would make, of its base cases and of the
+      // computed subproblems (every other call finds a computed subproblem)
+      private final SolveMetrics metrics;
+      private long calls, baseCases, computed;
+
+      Memo(KnapsackInstance items, SolveMetrics metrics) {
+         this.items = items;
+         this.metrics = metrics;
+         int numItems = items.size();
+         columns = items.capacity() + 1;
+         long cells = (long) numItems * columns;
+         if (isDense(cells, reachable(numItems, columns, cells))) {
+            dense = new int[(int) cells];
+            Arrays.fill(dense, NOT_COMPUTED);
+            sparse = null;
+         } else {
+            dense = null;
+            sparse = new LongIntHashMap(1024);
+         }
+         stackItems = new int[numItems + 1];
+         stackCapacities = new int[numItems + 1];
+      }
+
+      KnapsackResult solve() {
+         int n = items.size(), capacity = items.capacity();
+         int remainingValue = knapsackMemoization(n, capacity);
+         metrics.fillDone();
+         // find the items put into the knapsack starting from the last item
+         // (the subproblems on this path are already computed)
+         int[] selected = new int[n];
+         int count = 0;
+         for (int i = n; i > 0 && remainingValue > 0 && capacity > 0; i--)
+            if (knapsackMemoization(i - 1, capacity) != remainingValue) {
+               selected[count++] = i - 1;
+               remainingValue -= items.value(i - 1);
+               capacity -= items.weight(i - 1);
+            }
+         metrics.recursionCalls += calls;
+         metrics.cacheHits += calls - baseCases - computed;
+         metrics.cacheMisses += computed;
+         metrics.cellsComputed += computed;
+         metrics.tableBytes(dense != null ? dense.length * 4L : sparse.bytes());
+         return KnapsackResult.of(items, Arrays.copyOf(selected, count));
+      }
+
+      // returns the total value of the items put into the knapsack when only
+      // the first n items and the given capacity are considered (computes the
+      // same subproblems as the recursive knapsackMemoization)
+      private int knapsackMemoization(int n, int capacity) {
+         int top = 0;
+         stackItems[0] = n;
+         stackCapacities[0] = capacity;
+         calls++;
+         if (n == 0 || capacity == 0)
+            baseCases++;
+         while (top >= 0) {
+            int m = stackItems[top], c = stackCapacities[top];
+            // the subproblem is already computed
+            if (get(m, c) != NOT_COMPUTED) {
+               top--;
+               continue;
+            }
+            int value = items.value(m - 1), weight = items.weight(m - 1);
+            // the total value when the item is not put in the knapsack (the
+            // subproblem is pushed if it is not computed yet)
+            int totalValue1 = get(m - 1, c);
+            if (totalValue1 == NOT_COMPUTED) {
+               push(++top, m - 1, c);
+               continue;
+            }
+            if (weight > c) {
+               put(m, c, totalValue1);
+               // one call for the subproblem without the item
+               computed++;
+               calls++;
+               if (m == 1)
+                  baseCases++;
+               top--;
+               continue;
+            }
+            // the total value when the item is put in the knapsack
+            int totalValue2 = get(m - 1, c - weight);
+            if (totalValue2 == NOT_COMPUTED) {
+               push(++top, m - 1, c - weight);
+               continue;
+            }
+            put(m, c, Math.max(totalValue1, value + totalValue2));
+            // two calls for the subproblems without and with the item
+            computed++;
+            calls += 2;
+            if (m == 1)
+               baseCases += 2;
+            else if (c == weight)
+               baseCases++;
+            top--;
+         }
+         return get(n, capacity);
+      }
+
+      // stores a pending subproblem at the given position of the stack
+      private void push(int top, int n, int capacity) {
+         stackItems[top] = n;
+         stackCapacities[top] = capacity;
+      }
+
+      // returns the total value of the subproblem with the first n items and
+      // the given capacity, or NOT_COMPUTED if it is not computed yet
+      private int get(int n, int capacity) {
+         // base case: the number of the available items or the capacity is zero
+         if (n == 0 || capacity == 0)
+            return 0;
+         long cell = (long) (n - 1) * columns + capacity;
+         return dense != null ? dense[(int) cell] : sparse.get(cell);
+      }
+
+      // stores the total value of the subproblem with the first n items and
+      // the given capacity
+      private void put(int n, int capacity, int totalValue) {
+         long cell = (long) (n - 1) * columns + capacity;
+         if (dense != null)
+            dense[(int) cell] = totalValue;
+         else
+            sparse.put(cell, totalValue);
+      }
+   }
+
+   // a hash table from non-negative long keys to int values with open
+   // addressing and linear probing (get returns NOT_COMPUTED for missing keys)
+   static final class LongIntHashMap {
+      // the key of an empty slot
+      private static final long EMPTY = -1;
+
+      private long[] keys;
+      private int[] values;
+      private int size;
+
+      // creates an empty table with the given initial number of slots (a
+      // power of 2)
+      LongIntHashMap(int slots) {
+         keys = new long[slots];
+         values = new int[slots];
+         Arrays.fill(keys, EMPTY);
+      }
+
+      // returns the number of keys in the table
+      int size() {
+         return size;
+      }
+
+      // returns the size of the slots in bytes
+      long bytes() {
+         return keys.length * 12L;
+      }
+
+      // returns the value stored for the given key or NOT_COMPUTED
+      int get(long key) {
+         int mask = keys.length - 1;
+         for (int slot = slot(key, mask);; slot = (slot + 1) & mask) {
+            long k = keys[slot];
+            if (k == key)
+               return values[slot];
+            if (k == EMPTY)
+               return NOT_COMPUTED;
+         }
+      }
+
+      // stores the given value for the given key
+      void put(long key, int value) {
+         int mask = keys.length - 1;
+         int slot = slot(key, mask);
+         while (keys[slot] != EMPTY && keys[slot] != key)
+            slot = (slot + 1) & mask;
+         if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            // keep the table at most half full
+            if (++size * 2 > keys.length) {
+               values[slot] = value;
+               resize();
+               return;
+            }
+         }
+         values[slot] = value;
+      }
+
+      // doubles the number of slots and reinserts all the keys
+      private void resize() {
+         long[] oldKeys = keys;
+         int[] oldValues = values;
+         keys = new long[oldKeys.length * 2];
+         values = new int[oldKeys.length * 2];
+         Arrays.fill(keys, EMPTY);
+         int mask = keys.length - 1;
+         for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != EMPTY) {
+               int slot = slot(oldKeys[i], mask);
+               while (keys[slot] != EMPTY)
+                  slot = (slot + 1) & mask;
+               keys[slot] = oldKeys[i];
+               values[slot] = oldValues[i];
+            }
+      }
+
+      // returns the home slot of the given key (the high bits of the key times
+      // the golden ratio, which spreads consecutive keys over the table)
+      private static int slot(long key, int mask) {
+         return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+      }
+   }
+}
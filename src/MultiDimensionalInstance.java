@@ -0,0 +1,81 @@
+import java.util.Arrays;
+
+// An immutable 0-1 knapsack problem with several capacity constraints (e.g.,
+// weight and volume): each item has a weight in every dimension and the items
+// put into the knapsack must not exceed the capacity of any dimension. The
+// weights are stored in a single flattened array (the weight of item i in
+// dimension j is weights[i * dimensions + j]) instead of an array per item.
+public final class MultiDimensionalInstance {
+   private final int dimensions;
+   // the values of the items, the flattened weights and the capacities
+   private final int[] values, weights, capacities;
+
+   // creates a problem with the given item values, item weights (weights[i][j]
+   // is the weight of item i in dimension j) and capacities (capacities[j] is
+   // the capacity of dimension j)
+   public MultiDimensionalInstance(int[] values, int[][] weights, int[] capacities)
+         throws IllegalArgumentException {
+      dimensions = capacities.length;
+      if (dimensions == 0)
+         throw new IllegalArgumentException("no dimensions");
+      // there must be a weight for each value
+      if (values.length != weights.length)
+         throw new IllegalArgumentException("values and weights differ in length");
+      for (int j = 0; j < dimensions; j++)
+         if (capacities[j] < 0)
+            throw new IllegalArgumentException("negative capacity " + capacities[j]
+                  + " in dimension " + j);
+      this.values = values.clone();
+      this.capacities = capacities.clone();
+      this.weights = new int[values.length * dimensions];
+      // each item must have a non-negative value and a non-negative weight in
+      // each dimension
+      for (int i = 0; i < values.length; i++) {
+         if (weights[i].length != dimensions)
+            throw new IllegalArgumentException("item " + i + " has "
+                  + weights[i].length + " weights for " + dimensions + " dimensions");
+         boolean valid = values[i] >= 0;
+         for (int j = 0; j < dimensions; j++) {
+            valid &= weights[i][j] >= 0;
+            this.weights[i * dimensions + j] = weights[i][j];
+         }
+         if (!valid)
+            throw new IllegalArgumentException("invalid item " + i + "(v:" + values[i]
+                  + ", w:" + Arrays.toString(weights[i]) + ")");
+      }
+   }
+
+   // returns the number of the available items
+   public int size() {
+      return values.length;
+   }
+
+   // returns the number of the capacity constraints
+   public int dimensions() {
+      return dimensions;
+   }
+
+   // returns the value of the item at the given index
+   public int value(int index) {
+      return values[index];
+   }
+
+   // returns the weight of the item at the given index in the given dimension
+   public int weight(int index, int dimension) {
+      return weights[index * dimensions + dimension];
+   }
+
+   // returns the capacity of the given dimension
+   public int capacity(int dimension) {
+      return capacities[dimension];
+   }
+
+   // returns the total weight of the items with the given indexes in the given
+   // dimension
+   public long totalWeight(int[] indexes, int dimension) {
+      long totalWeight = 0;
+      for (int i : indexes)
+         totalWeight += weight(i, dimension);
+      return totalWeight;
+   }
+}
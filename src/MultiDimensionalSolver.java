@@ -0,0 +1,172 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Solves the 0-1 knapsack problem with several capacity constraints by the
+// bottom-up dynamic programming of solve3 over all the capacity vectors: a row
+// has an element for each combination of capacities (c0, c1, ... ) with
+// 0 <= cj <= capacity(j), stored in a flattened int array in which dimension 0
+// varies fastest (the element of (c0, c1, ... ) is at c0 + c1 * stride1 + ...).
+// Adding an item moves every element by a fixed offset in the flattened array,
+// so each line of the row along dimension 0 is computed by the same loop as a
+// row of the single constraint problem (ScalarRowKernel) if the item fits into
+// the other capacities of the line, and copied from the previous row otherwise.
+// The lines of a large row are computed in parallel on a fork/join pool. Only
+// two rows and a bit for each element of the matrix (DecisionMatrix) are kept.
+//
+// The result stores the total weight in dimension 0; the total weights in the
+// other dimensions are given by MultiDimensionalInstance.totalWeight.
+public final class MultiDimensionalSolver {
+   // the minimum number of elements computed by a task
+   private static final int BLOCK_SIZE = 1 << 14;
+
+   // the pool that computes the lines of the rows (null if the rows are
+   // computed serially)
+   private final ForkJoinPool pool;
+
+   // creates a solver that computes the rows on the common fork/join pool
+   public MultiDimensionalSolver() {
+      this(ForkJoinPool.commonPool());
+   }
+
+   // creates a solver that computes the rows on the given pool (or serially if
+   // the given pool is null)
+   public MultiDimensionalSolver(ForkJoinPool pool) {
+      this.pool = pool;
+   }
+
+   // solves the given problem
+   public KnapsackResult solve(MultiDimensionalInstance instance)
+         throws IllegalArgumentException {
+      int numItems = instance.size(), dimensions = instance.dimensions();
+      SolveMetrics metrics = new SolveMetrics("MultiDimensionalSolver", numItems,
+            instance.capacity(0));
+      // the strides of the dimensions in the flattened row
+      int[] strides = new int[dimensions];
+      long cells = 1;
+      for (int j = 0; j < dimensions; j++) {
+         strides[j] = (int) cells;
+         cells *= instance.capacity(j) + 1;
+         if (cells > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("too many capacity combinations for a row: "
+                  + cells);
+      }
+      Row row = new Row(instance, strides, (int) cells);
+      DecisionMatrix taken = new DecisionMatrix(numItems, (int) cells);
+      int[] offsets = new int[numItems];
+      for (int i = 0; i < numItems; i++) {
+         offsets[i] = row.next(i);
+         taken.setRow(i, row.previous, row.current);
+         row.swap();
+      }
+      metrics.fillDone();
+      metrics.cellsComputed += numItems * cells;
+      metrics.tableBytes(taken.bytes() + cells * 8);
+      // walk the decisions from the last item back to the first item, starting
+      // at the element of the full capacities
+      int[] selected = new int[numItems];
+      int count = 0;
+      long totalValue = row.previous[(int) cells - 1];
+      for (int i = numItems - 1, cell = (int) cells - 1; i >= 0; i--)
+         if (taken.get(i, cell)) {
+            selected[count++] = i;
+            cell -= offsets[i];
+         }
+      int[] indexes = Arrays.copyOf(selected, count);
+      return metrics.finish(new KnapsackResult(totalValue, instance.totalWeight(indexes,
+            0), indexes));
+   }
+
+   // the previous and the current rows of a single solve
+   private final class Row {
+      private final MultiDimensionalInstance instance;
+      private final int[] strides;
+      // the number of elements in a line along dimension 0
+      private final int lineLength;
+      private int[] previous, current;
+
+      Row(MultiDimensionalInstance instance, int[] strides, int cells) {
+         this.instance = instance;
+         this.strides = strides;
+         lineLength = instance.capacity(0) + 1;
+         previous = new int[cells];
+         current = new int[cells];
+      }
+
+      // computes the current row from the previous row with the item at the
+      // given index and returns the offset of the item in the flattened row
+      int next(int index) {
+         int offset = 0;
+         for (int j = 0; j < strides.length; j++)
+            offset += instance.weight(index, j) * strides[j];
+         int lines = previous.length / lineLength;
+         if (pool == null || previous.length <= BLOCK_SIZE)
+            computeLines(index, offset, 0, lines);
+         else
+            pool.invoke(new LineTask(index, offset, 0, lines,
+                  Math.max(1, BLOCK_SIZE / lineLength)));
+         return offset;
+      }
+
+      // computes the elements of the current row in the lines [from, to)
+      void computeLines(int index, int offset, int from, int to) {
+         int value = instance.value(index), weight = instance.weight(index, 0);
+         for (int line = from; line < to; line++) {
+            int start = line * lineLength, end = start + lineLength;
+            // the item fits into the capacities of the line in the other
+            // dimensions (the coordinates of the line are decoded from its
+            // index)
+            boolean fits = weight < lineLength;
+            for (int j = 1, rest = line; j < strides.length && fits; j++) {
+               int size = instance.capacity(j) + 1;
+               fits = rest % size >= instance.weight(index, j);
+               rest /= size;
+            }
+            if (!fits) {
+               System.arraycopy(previous, start, current, start, lineLength);
+               continue;
+            }
+            // the item does not fit into the capacities of dimension 0 below
+            // its weight (the offset of the other elements never leaves the
+            // flattened row as the item fits into the other dimensions)
+            System.arraycopy(previous, start, current, start, weight);
+            ScalarRowKernel.updateRange(previous, current, value, offset, start + weight,
+                  end);
+         }
+      }
+
+      // the current row becomes the previous row of the next item
+      void swap() {
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+
+      // a task that computes the lines in [from, to) by splitting the range in
+      // half until it has at most the given number of lines
+      private final class LineTask extends RecursiveAction {
+         private static final long serialVersionUID = 1L;
+
+         private final int index, offset, from, to, linesPerTask;
+
+         LineTask(int index, int offset, int from, int to, int linesPerTask) {
+            this.index = index;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+            this.linesPerTask = linesPerTask;
+         }
+
+         @Override
+         protected void compute() {
+            if (to - from <= linesPerTask) {
+               computeLines(index, offset, from, to);
+               return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LineTask(index, offset, from, middle, linesPerTask),
+                  new LineTask(index, offset, middle, to, linesPerTask));
+         }
+      }
+   }
+}
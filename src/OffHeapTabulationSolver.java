@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Solves the 0-1 knapsack problem by using bottom-up dynamic programming with
+// tabulation as TabulationSolver does, but stores the whole solution matrix in
+// a memory-mapped scratch file (MappedTable) instead of the heap, so that the
+// matrix that printSolution walks can have billions of elements. The rows are
+// computed in two heap arrays and copied to the table, and the fill method
+// returns the table itself for auditing the solution matrix.
+//
+// The mapped memory and the disk space of a table are only released when the
+// garbage collector frees it, even after it is closed (see MappedTable), so
+// the solver keeps the table of the last solve and reuses it for the next
+// solve that fits into it. Concurrent solves use tables of their own. The
+// kept table is deleted when the solver is closed.
+public final class OffHeapTabulationSolver implements KnapsackSolver, AutoCloseable {
+   // the directory of the scratch files
+   private final Path directory;
+   // computes each row from the previous row
+   private final RowKernel kernel;
+   // the table kept for the next solve (null if there is none or if a solve
+   // is using it)
+   private final AtomicReference<MappedTable> spare = new AtomicReference<>();
+
+   // creates a solver that stores its scratch files in the given directory
+   // and computes the rows serially
+   public OffHeapTabulationSolver(Path directory) {
+      this(directory, ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver that stores its scratch files in the given directory
+   // and computes the rows with the given kernel
+   public OffHeapTabulationSolver(Path directory, RowKernel kernel) {
+      this.directory = directory;
+      this.kernel = kernel;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("OffHeapTabulationSolver", instance);
+      int numItems = instance.size(), columns = instance.capacity() + 1;
+      MappedTable solution = spare.getAndSet(null);
+      try {
+         // the kept table is too small (its mapping is released by the
+         // garbage collector)
+         if (solution != null && solution.cells() < (long) numItems * columns) {
+            solution.close();
+            solution = null;
+         }
+         if (solution == null)
+            solution = new MappedTable(numItems, columns, directory);
+         else
+            solution.reshape(numItems, columns);
+         fill(instance, solution);
+         metrics.fillDone();
+         metrics.cellsComputed += (long) numItems * columns;
+         metrics.tableBytes(solution.cells() * 4);
+         KnapsackResult result = reconstruct(instance, solution);
+         // keep the table for the next solve unless another solve kept its own
+         if (!spare.compareAndSet(null, solution))
+            solution.close();
+         solution = null;
+         return metrics.finish(result);
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      } finally {
+         if (solution != null)
+            closeQuietly(solution);
+      }
+   }
+
+   // deletes the table kept for the next solve
+   @Override
+   public void close() throws IOException {
+      MappedTable solution = spare.getAndSet(null);
+      if (solution != null)
+         solution.close();
+   }
+
+   // creates and fills the solution matrix of the given problem with a row for
+   // each item and a column for each capacity 0, 1, ... , capacity (the caller
+   // must close the returned table)
+   public MappedTable fill(KnapsackInstance instance) throws IOException {
+      MappedTable solution = new MappedTable(instance.size(), instance.capacity() + 1,
+            directory);
+      try {
+         fill(instance, solution);
+      } catch (RuntimeException | Error e) {
+         closeQuietly(solution);
+         throw e;
+      }
+      return solution;
+   }
+
+   // fills the given table, which has a row for each item and a column for
+   // each capacity 0, 1, ... , capacity, with the solution matrix of the given
+   // problem
+   private void fill(KnapsackInstance instance, MappedTable solution) {
+      int numItems = instance.size(), capacity = instance.capacity();
+      int[] previous = new int[capacity + 1], current = new int[capacity + 1];
+      for (int i = 0; i < numItems; i++) {
+         kernel.update(previous, current, instance.value(i), instance.weight(i),
+               capacity);
+         solution.writeRow(i, current);
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+   }
+
+   // closes the given table after a failed solve (the failure is reported
+   // instead of an error of close)
+   private static void closeQuietly(MappedTable solution) {
+      try {
+         solution.close();
+      } catch (IOException e) {
+         // ignored, as the failure of the solve is more important
+      }
+   }
+
+   // finds the items put into the knapsack by walking the given filled table
+   // from the bottom-right corner back to the first row
+   public static KnapsackResult reconstruct(KnapsackInstance instance,
+         MappedTable solution) {
+      int numItems = solution.rows(), capacity = solution.columns() - 1;
+      int[] selected = new int[numItems];
+      int count = 0;
+      for (int i = numItems - 1; i >= 0 && capacity > 0; i--) {
+         // the item is in the solution if the total value differs from the
+         // total value at the previous row
+         int above = i == 0 ? 0 : solution.get(i - 1, capacity);
+         if (solution.get(i, capacity) != above) {
+            selected[count++] = i;
+            capacity -= instance.weight(i);
+         }
+      }
+      return KnapsackResult.of(instance, Arrays.copyOf(selected, count));
+   }
+}
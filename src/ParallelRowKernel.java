@@ -0,0 +1,88 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Computes the rows of the solution matrix in parallel on a fork/join pool.
+// As each element of a row only depends on the previous row, the capacities
+// of a row are split into blocks that are small enough to stay in the cache
+// of a core and the blocks are computed by different worker threads. Rows
+// with fewer capacities than a threshold are computed serially as the cost of
+// forking and joining the tasks would exceed the gain.
+public final class ParallelRowKernel implements RowKernel {
+   // the default number of capacities in a block (16K ints, i.e., 64 KB for
+   // each of the two rows, so that both fit into a typical L2 cache)
+   public static final int DEFAULT_BLOCK_SIZE = 1 << 14;
+   // the default minimum number of capacities for computing a row in parallel
+   public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+   // the pool that runs the tasks, the number of capacities in a block, and
+   // the minimum number of capacities for computing a row in parallel
+   private final ForkJoinPool pool;
+   private final int blockSize, parallelThreshold;
+
+   // creates a kernel that runs on the common fork/join pool
+   public ParallelRowKernel() {
+      this(ForkJoinPool.commonPool());
+   }
+
+   // creates a kernel that runs on the given pool (the size of the given pool
+   // determines how many threads compute each row)
+   public ParallelRowKernel(ForkJoinPool pool) {
+      this(pool, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLEL_THRESHOLD);
+   }
+
+   // creates a kernel that runs on the given pool with the given block size
+   // and the given threshold for computing a row in parallel
+   public ParallelRowKernel(ForkJoinPool pool, int blockSize,
+         int parallelThreshold) throws IllegalArgumentException {
+      if (blockSize <= 0)
+         throw new IllegalArgumentException("non-positive block size: " + blockSize);
+      this.pool = pool;
+      this.blockSize = blockSize;
+      this.parallelThreshold = Math.max(blockSize, parallelThreshold);
+   }
+
+   @Override
+   public void update(int[] previous, int[] current, int value, int weight,
+         int capacity) {
+      // small rows are computed serially
+      if (capacity + 1 < parallelThreshold)
+         ScalarRowKernel.updateRange(previous, current, value, weight, 0,
+               capacity + 1);
+      else
+         pool.invoke(new RowTask(previous, current, value, weight, 0, capacity + 1));
+   }
+
+   // a task that computes the elements of a row for the capacities in
+   // [from, to) by splitting the range in half until it fits into a block
+   private final class RowTask extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      private final int[] previous, current;
+      private final int value, weight, from, to;
+
+      RowTask(int[] previous, int[] current, int value, int weight, int from,
+            int to) {
+         this.previous = previous;
+         this.current = current;
+         this.value = value;
+         this.weight = weight;
+         this.from = from;
+         this.to = to;
+      }
+
+      @Override
+      protected void compute() {
+         // base case: the range fits into a block
+         if (to - from <= blockSize) {
+            ScalarRowKernel.updateRange(previous, current, value, weight, from, to);
+            return;
+         }
+         // split the range at a block boundary
+         int middle = from + (to - from) / blockSize / 2 * blockSize;
+         if (middle == from)
+            middle += blockSize;
+         invokeAll(new RowTask(previous, current, value, weight, from, middle),
+               new RowTask(previous, current, value, weight, middle, to));
+      }
+   }
+}
@@ -0,0 +1,116 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem by dynamic programming over the reachable
+// (weight, value) states instead of all the capacities 0, 1, ... , capacity
+// (the sparse algorithm of Nemhauser and Ullmann). For each prefix of the items
+// a list of the non-dominated states is kept sorted by weight: a state is
+// dominated if another state weighs at most as much and has at least the same
+// value. The list of the first i + 1 items is the list of the first i items
+// merged with the same list shifted by the weight and the value of item i, so
+// the running time depends on the number of non-dominated states rather than
+// on the capacity (e.g., if all the weights are multiples of 1000, only every
+// 1000th capacity can be reached). It is never worse than O(n * capacity) as a
+// list has at most capacity + 1 states.
+//
+// All the lists are stored one after the other in primitive arrays. Each state
+// has a back pointer to the state of the previous list it was created from and
+// a flag that tells whether it was created by adding the item, so the items
+// put into the knapsack are found by following the back pointers from the most
+// valuable state of the last list.
+public final class ParetoSolver implements KnapsackSolver {
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("ParetoSolver", instance);
+      return metrics.finish(new States(instance, metrics).solve());
+   }
+
+   // the state lists of a single solve
+   private static final class States {
+      private final KnapsackInstance instance;
+      // the total weight, the total value, the index of the state in the
+      // previous list and whether the item was added for each state
+      private int[] weights, parents;
+      private long[] values;
+      private boolean[] added;
+      // the number of states in all the lists
+      private int size;
+      // the measurements of the solve
+      private final SolveMetrics metrics;
+
+      States(KnapsackInstance instance, SolveMetrics metrics) {
+         this.instance = instance;
+         this.metrics = metrics;
+         int length = 1024;
+         weights = new int[length];
+         parents = new int[length];
+         values = new long[length];
+         added = new boolean[length];
+      }
+
+      KnapsackResult solve() {
+         int numItems = instance.size(), capacity = instance.capacity();
+         // the list of no items only has the empty state
+         append(0, 0, -1, false);
+         int from = 0, to = 1;
+         for (int i = 0; i < numItems; i++) {
+            int weight = instance.weight(i), value = instance.value(i);
+            // the states of the previous list plus the item that fit into the
+            // knapsack form a prefix of the list as the list is sorted by weight
+            int shifted = from;
+            while (shifted < to && weights[shifted] <= capacity - weight)
+               shifted++;
+            // merge the previous list with its shifted prefix (both sorted by
+            // weight) and keep only the states that are more valuable than all
+            // the lighter states in the new list
+            int start = size, a = from, b = from;
+            while (a < to || b < shifted) {
+               boolean takeA;
+               if (b == shifted)
+                  takeA = true;
+               else if (a == to)
+                  takeA = false;
+               else {
+                  int weightA = weights[a], weightB = weights[b] + weight;
+                  takeA = weightA < weightB || weightA == weightB
+                        && values[a] >= values[b] + value;
+               }
+               int parent = takeA ? a++ : b++;
+               long totalValue = takeA ? values[parent] : values[parent] + value;
+               if (size == start || totalValue > values[size - 1])
+                  append(takeA ? weights[parent] : weights[parent] + weight,
+                        totalValue, parent, !takeA);
+            }
+            from = start;
+            to = size;
+         }
+         metrics.cellsComputed += size;
+         metrics.tableBytes(weights.length * 17L);
+         metrics.fillDone();
+         // the last state of the last list is the most valuable one
+         int state = to - 1;
+         long totalValue = values[state];
+         long totalWeight = weights[state];
+         int[] selected = new int[numItems];
+         int count = 0;
+         for (int i = numItems - 1; i >= 0; i--, state = parents[state])
+            if (added[state])
+               selected[count++] = i;
+         return new KnapsackResult(totalValue, totalWeight, Arrays.copyOf(selected, count));
+      }
+
+      // appends a state to the arrays (doubling their lengths if necessary)
+      private void append(int weight, long value, int parent, boolean isAdded) {
+         if (size == weights.length) {
+            int length = size * 2;
+            weights = Arrays.copyOf(weights, length);
+            parents = Arrays.copyOf(parents, length);
+            values = Arrays.copyOf(values, length);
+            added = Arrays.copyOf(added, length);
+         }
+         weights[size] = weight;
+         values[size] = value;
+         parents[size] = parent;
+         added[size++] = isAdded;
+      }
+   }
+}
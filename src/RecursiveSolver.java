@@ -0,0 +1,71 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem recursively by checking all possible item
+// subsets as the solve1 method of the Knapsack class does. The items put into
+// the knapsack are found afterwards by comparing the total values computed
+// with and without each item, starting from the last item.
+public final class RecursiveSolver implements KnapsackSolver {
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("RecursiveSolver", instance);
+      Recursion recursion = new Recursion(instance);
+      int n = instance.size(), capacity = instance.capacity();
+      // the total value of the items put into the knapsack
+      int totalValue = recursion.solve1(n, capacity);
+      metrics.fillDone();
+      // find the items put into the knapsack starting from the last item
+      int[] selected = new int[n];
+      int count = 0, remainingValue = totalValue;
+      for (int i = n; i > 0 && remainingValue > 0 && capacity > 0; i--) {
+         // the item is not put into the knapsack if the same total value can
+         // be obtained from the previous items (as solve2 prefers the subset
+         // without the item when both subsets have the same total value)
+         int valueWithout = recursion.solve1(i - 1, capacity);
+         if (valueWithout != remainingValue) {
+            selected[count++] = i - 1;
+            remainingValue -= instance.value(i - 1);
+            capacity -= instance.weight(i - 1);
+         }
+      }
+      metrics.recursionCalls += recursion.calls;
+      return metrics.finish(KnapsackResult.of(instance, Arrays.copyOf(selected, count)));
+   }
+
+   // the state of a single solve (created once for each call of solve, and
+   // only primitive fields are updated while recursing): the values and the
+   // weights of the items and the number of the calls of solve1 (added to the
+   // measurements once at the end of the solve)
+   private static final class Recursion {
+      private final int[] values, weights;
+      private long calls;
+
+      Recursion(KnapsackInstance instance) {
+         int numItems = instance.size();
+         values = new int[numItems];
+         weights = new int[numItems];
+         for (int i = 0; i < numItems; i++) {
+            values[i] = instance.value(i);
+            weights[i] = instance.weight(i);
+         }
+      }
+
+      // returns the total value of the items put into the knapsack when only
+      // the first n items and the given capacity are considered
+      int solve1(int n, int capacity) {
+         calls++;
+         // base case: the number of the available items or the capacity is zero
+         if (n == 0 || capacity == 0)
+            return 0;
+         // test the last available item
+         int index = n - 1, value = values[index], weight = weights[index];
+         // linear recursive case: the weight of the item exceeds the capacity
+         if (weight > capacity)
+            return solve1(n - 1, capacity);
+         // binary recursive case (compare the possibilities when the item is
+         // not put in the knapsack and when the item is put in the knapsack)
+         int totalValue1 = solve1(n - 1, capacity);
+         int totalValue2 = value + solve1(n - 1, capacity - weight);
+         return Math.max(totalValue1, totalValue2);
+      }
+   }
+}
@@ -0,0 +1,114 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem by using bottom-up dynamic programming with
+// tabulation while keeping only two rows of the solution matrix in memory
+// (O(capacity) memory instead of the O(numItems * capacity) memory of solve3).
+// As the rows that printSolution walks back are not kept, the items put into
+// the knapsack are found by divide and conquer (as in Hirschberg's algorithm):
+// the items are split into two halves, the best total value of each half is
+// computed for every capacity, the capacity is split where the sum of the two
+// halves is maximal, and each half is solved recursively with its share of the
+// capacity. The total running time is still O(numItems * capacity) as the
+// capacities of the subproblems at each level of the recursion add up to the
+// capacity of the knapsack while the number of their items halves. The rows
+// are computed by a row kernel (serially by default).
+public final class RollingTabulationSolver implements KnapsackSolver {
+   // computes each row from the previous row
+   private final RowKernel kernel;
+
+   // creates a solver that computes the rows serially
+   public RollingTabulationSolver() {
+      this(ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver that computes the rows with the given kernel
+   public RollingTabulationSolver(RowKernel kernel) {
+      this.kernel = kernel;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("RollingTabulationSolver", instance);
+      int numItems = instance.size(), capacity = instance.capacity();
+      // there is nothing to put into the knapsack
+      if (numItems == 0 || capacity == 0)
+         return metrics.finish(new KnapsackResult(0, 0, new int[0]));
+      int[] selected = new int[numItems];
+      int count = select(instance, 0, numItems, capacity, selected, 0, metrics);
+      // at most four rows exist at any time
+      metrics.tableBytes((capacity + 1) * 16L);
+      return metrics.finish(KnapsackResult.of(instance, Arrays.copyOf(selected, count)));
+   }
+
+   // returns the total value of the items put into the knapsack without
+   // finding the items (a single pass over the items with two rows)
+   public int solveValue(KnapsackInstance instance) {
+      return lastRow(instance, 0, instance.size(), instance.capacity())[instance
+            .capacity()];
+   }
+
+   // stores the indexes of the items in [from, to) put into a knapsack with
+   // the given capacity in the selected array starting at the given position
+   // and returns the position after the last stored index (the computed rows
+   // are counted in the given measurements)
+   private int select(KnapsackInstance instance, int from, int to,
+         int capacity, int[] selected, int count, SolveMetrics metrics) {
+      // base case: no items or no capacity
+      if (from == to || capacity == 0)
+         return count;
+      // base case: a single item is put into the knapsack if it fits and adds
+      // some value
+      if (to - from == 1) {
+         if (instance.weight(from) <= capacity && instance.value(from) > 0)
+            selected[count++] = from;
+         return count;
+      }
+      // divide: split the items and the capacity between the two halves
+      int middle = (from + to) >>> 1;
+      int split = splitCapacity(instance, from, middle, to, capacity);
+      metrics.cellsComputed += (long) (to - from) * (capacity + 1);
+      // the first split computes the row of every item once (the fill phase
+      // of the other tabulation solvers), the rest finds the items
+      if (from == 0 && to == instance.size())
+         metrics.fillDone();
+      // conquer: solve each half with its share of the capacity
+      count = select(instance, from, middle, split, selected, count, metrics);
+      return select(instance, middle, to, capacity - split, selected, count, metrics);
+   }
+
+   // returns the capacity k in [0, capacity] for which the best total value of
+   // the items in [from, middle) with the capacity k plus the best total value
+   // of the items in [middle, to) with the capacity (capacity - k) is maximal
+   // (the rows are only alive during this call, so at most four rows exist at
+   // any time regardless of the depth of the recursion)
+   private int splitCapacity(KnapsackInstance instance, int from,
+         int middle, int to, int capacity) {
+      int[] first = lastRow(instance, from, middle, capacity);
+      int[] second = lastRow(instance, middle, to, capacity);
+      int split = 0, best = -1;
+      for (int k = 0; k <= capacity; k++) {
+         int totalValue = first[k] + second[capacity - k];
+         if (totalValue > best) {
+            best = totalValue;
+            split = k;
+         }
+      }
+      return split;
+   }
+
+   // returns the last row of the solution matrix for the items in [from, to)
+   // (the best total value for each capacity 0, 1, ... , capacity) computed
+   // by keeping only the previous and the current rows
+   int[] lastRow(KnapsackInstance instance, int from, int to, int capacity) {
+      int[] previous = new int[capacity + 1], current = new int[capacity + 1];
+      for (int i = from; i < to; i++) {
+         kernel.update(previous, current, instance.value(i), instance.weight(i),
+               capacity);
+         // the current row becomes the previous row of the next item
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+      return previous;
+   }
+}
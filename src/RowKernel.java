@@ -0,0 +1,12 @@
+// Computes a row of the solution matrix of the bottom-up dynamic programming
+// approach (the inner loop of solve3) from the row of the previous item. For
+// each capacity c in [0, capacity]:
+//    current[c] = max(previous[c], value + previous[c - weight])
+// where the second possibility only exists if weight <= c. Implementations
+// must not keep any state about a row between calls, so that one kernel can
+// be shared by many solvers and threads.
+public interface RowKernel {
+   // computes the current row of an item with the given value and weight from
+   // the given previous row (both rows have at least capacity + 1 elements)
+   void update(int[] previous, int[] current, int value, int weight, int capacity);
+}
@@ -0,0 +1,32 @@
+// Utility methods for choosing a row kernel at runtime.
+public final class RowKernels {
+   // the SIMD kernel if the Vector API is available (otherwise the scalar one)
+   private static final RowKernel VECTOR_OR_SCALAR = loadVectorKernel();
+
+   private RowKernels() {
+   }
+
+   // returns the SIMD kernel that uses the Vector API if the VectorRowKernel
+   // class is on the class path and the jdk.incubator.vector module is added
+   // to the JVM, otherwise returns the scalar kernel
+   public static RowKernel vectorOrScalar() {
+      return VECTOR_OR_SCALAR;
+   }
+
+   // returns true if vectorOrScalar() returns the SIMD kernel
+   public static boolean isVectorized() {
+      return !(VECTOR_OR_SCALAR instanceof ScalarRowKernel);
+   }
+
+   // loads the SIMD kernel by reflection, so that this class can be compiled
+   // and run without the jdk.incubator.vector module
+   private static RowKernel loadVectorKernel() {
+      try {
+         return (RowKernel) Class.forName("VectorRowKernel").getDeclaredConstructor()
+               .newInstance();
+      } catch (ReflectiveOperationException | LinkageError e) {
+         // the class is not compiled or the module is not added
+         return ScalarRowKernel.INSTANCE;
+      }
+   }
+}
@@ -0,0 +1,23 @@
+// Computes the rows of the solution matrix serially with a single loop over
+// the capacities (the same loop as in the solve3 method of Knapsack).
+public final class ScalarRowKernel implements RowKernel {
+   // a shared instance (the kernel has no state)
+   public static final ScalarRowKernel INSTANCE = new ScalarRowKernel();
+
+   @Override
+   public void update(int[] previous, int[] current, int value, int weight,
+         int capacity) {
+      updateRange(previous, current, value, weight, 0, capacity + 1);
+   }
+
+   // computes the elements of the current row for the capacities in [from, to)
+   static void updateRange(int[] previous, int[] current, int value, int weight,
+         int from, int to) {
+      // the item does not fit into the knapsack for the capacities below its
+      // weight, so these elements are copied from the previous row
+      int limit = Math.max(from, Math.min(weight, to));
+      System.arraycopy(previous, from, current, from, limit - from);
+      for (int c = limit; c < to; c++)
+         current[c] = Math.max(previous[c], value + previous[c - weight]);
+   }
+}
@@ -0,0 +1,57 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// The JFR event that is recorded for each solve while it is enabled in a
+// flight recording (e.g., java -XX:StartFlightRecording ... or jcmd JFR.start
+// with the setting knapsack.Solve#enabled=true).
+@Name("knapsack.Solve")
+@Label("Knapsack Solve")
+@Category("Knapsack")
+@Description("The measurements of a solve of the 0-1 knapsack problem")
+@StackTrace(false)
+final class SolveEvent extends Event {
+   @Label("Solver")
+   String solver;
+
+   @Label("Items")
+   int numItems;
+
+   @Label("Capacity")
+   long capacity;
+
+   @Label("Total Value")
+   long totalValue;
+
+   @Label("Cells Computed")
+   long cellsComputed;
+
+   @Label("Recursion Calls")
+   long recursionCalls;
+
+   @Label("Cache Hits")
+   long cacheHits;
+
+   @Label("Cache Misses")
+   long cacheMisses;
+
+   @Label("Pruned Nodes")
+   long prunedNodes;
+
+   @Label("Peak Table Size")
+   @DataAmount
+   long peakTableBytes;
+
+   @Label("Fill Time")
+   @Timespan
+   long fillTime;
+
+   @Label("Reconstruction Time")
+   @Timespan
+   long reconstructionTime;
+}
@@ -0,0 +1,7 @@
+// Receives the measurements of each solve while it is registered with
+// SolveMonitor. The listener is called by the thread that solved the problem,
+// so it may be called by many threads at once and should return quickly.
+public interface SolveListener {
+   // called after each solve with its measurements
+   void solved(SolveMetrics metrics);
+}
@@ -0,0 +1,141 @@
+// The measurements of a single solve: what was solved, how much work was done
+// and how long each phase took. A solver creates an instance at the start of a
+// solve, updates its counters (a solver only updates the counters that apply
+// to it, the others stay zero) and calls finish at the end, which passes the
+// measurements to the listeners and records a JFR event if SolveMonitor is
+// enabled. An instance is only used by the thread that solves the problem.
+public final class SolveMetrics {
+   // the name of the solver, the number of items and the capacity
+   private final String solver;
+   private final int numItems;
+   private final long capacity;
+   // the total value of the solution
+   private long totalValue;
+   // the number of computed elements of a solution matrix (or states of a
+   // state list), the number of recursive calls (or visited nodes of a search
+   // tree), the number of memoized subproblems that were found or not found,
+   // the number of pruned subtrees, and the peak size of the tables in bytes
+   long cellsComputed, recursionCalls, cacheHits, cacheMisses, prunedNodes,
+         peakTableBytes;
+   // the time of the start of the solve and of the end of the fill phase, and
+   // the durations of the fill phase (computing the total value) and of the
+   // reconstruction phase (finding the items)
+   private final long startTime;
+   private long fillEndTime, fillNanos, reconstructionNanos;
+
+   // starts measuring the solve of the given problem by the given solver
+   public SolveMetrics(String solver, KnapsackInstance instance) {
+      this(solver, instance.size(), instance.capacity());
+   }
+
+   // starts measuring the solve of a problem with the given number of items
+   // and capacity by the given solver
+   public SolveMetrics(String solver, int numItems, long capacity) {
+      this.solver = solver;
+      this.numItems = numItems;
+      this.capacity = capacity;
+      this.startTime = System.nanoTime();
+   }
+
+   // ends the fill phase (the reconstruction phase starts)
+   public void fillDone() {
+      fillEndTime = System.nanoTime();
+      fillNanos = fillEndTime - startTime;
+   }
+
+   // ends the solve with the given result (if fillDone was not called, the
+   // whole solve is counted as the fill phase), publishes the measurements
+   // and returns the result
+   public KnapsackResult finish(KnapsackResult result) {
+      long endTime = System.nanoTime();
+      if (fillEndTime == 0)
+         fillNanos = endTime - startTime;
+      else
+         reconstructionNanos = endTime - fillEndTime;
+      totalValue = result.totalValue();
+      SolveMonitor.publish(this);
+      return result;
+   }
+
+   // updates the peak table size if the given size is larger
+   void tableBytes(long bytes) {
+      peakTableBytes = Math.max(peakTableBytes, bytes);
+   }
+
+   // returns the name of the solver
+   public String solver() {
+      return solver;
+   }
+
+   // returns the number of items of the solved problem
+   public int numItems() {
+      return numItems;
+   }
+
+   // returns the capacity of the solved problem
+   public long capacity() {
+      return capacity;
+   }
+
+   // returns the total value of the solution
+   public long totalValue() {
+      return totalValue;
+   }
+
+   // returns the number of computed elements of the solution matrix
+   public long cellsComputed() {
+      return cellsComputed;
+   }
+
+   // returns the number of recursive calls or visited search nodes
+   public long recursionCalls() {
+      return recursionCalls;
+   }
+
+   // returns the number of memoized subproblems that were already computed
+   public long cacheHits() {
+      return cacheHits;
+   }
+
+   // returns the number of memoized subproblems that were not computed yet
+   public long cacheMisses() {
+      return cacheMisses;
+   }
+
+   // returns the ratio of the cache hits to all the memo lookups (0 if there
+   // were no lookups)
+   public double cacheHitRatio() {
+      long lookups = cacheHits + cacheMisses;
+      return lookups == 0 ? 0 : (double) cacheHits / lookups;
+   }
+
+   // returns the number of pruned subtrees
+   public long prunedNodes() {
+      return prunedNodes;
+   }
+
+   // returns the peak size of the tables of the solve in bytes
+   public long peakTableBytes() {
+      return peakTableBytes;
+   }
+
+   // returns the duration of the fill phase in nanoseconds
+   public long fillNanos() {
+      return fillNanos;
+   }
+
+   // returns the duration of the reconstruction phase in nanoseconds
+   public long reconstructionNanos() {
+      return reconstructionNanos;
+   }
+
+   @Override
+   public String toString() {
+      return solver + "(items: " + numItems + ", capacity: " + capacity
+            + ", total value: " + totalValue + ", cells: " + cellsComputed
+            + ", calls: " + recursionCalls + ", cache hits/misses: " + cacheHits
+            + "/" + cacheMisses + ", pruned: " + prunedNodes + ", table bytes: "
+            + peakTableBytes + ", fill: " + fillNanos / 1000000.0
+            + " ms, reconstruction: " + reconstructionNanos / 1000000.0 + " ms)";
+   }
+}
@@ -0,0 +1,56 @@
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jdk.jfr.EventType;
+
+// Publishes the measurements of the solves to the registered listeners and as
+// JFR events. Publishing is skipped unless a listener is registered or the JFR
+// event is enabled, so the solvers only pay for a few reads of the clock and a
+// few additions per solve when nobody is watching.
+public final class SolveMonitor {
+   // the registered listeners
+   private static final CopyOnWriteArrayList<SolveListener> LISTENERS =
+         new CopyOnWriteArrayList<>();
+   // the type of the JFR event (tells whether the event is enabled)
+   private static final EventType EVENT_TYPE = EventType.getEventType(SolveEvent.class);
+
+   private SolveMonitor() {
+   }
+
+   // registers the given listener
+   public static void addListener(SolveListener listener) {
+      LISTENERS.add(listener);
+   }
+
+   // removes the given listener
+   public static void removeListener(SolveListener listener) {
+      LISTENERS.remove(listener);
+   }
+
+   // returns true if the measurements are published (a listener is registered
+   // or the JFR event is enabled)
+   public static boolean isEnabled() {
+      return !LISTENERS.isEmpty() || EVENT_TYPE.isEnabled();
+   }
+
+   // publishes the given measurements of a solve
+   static void publish(SolveMetrics metrics) {
+      if (EVENT_TYPE.isEnabled()) {
+         SolveEvent event = new SolveEvent();
+         event.solver = metrics.solver();
+         event.numItems = metrics.numItems();
+         event.capacity = metrics.capacity();
+         event.totalValue = metrics.totalValue();
+         event.cellsComputed = metrics.cellsComputed();
+         event.recursionCalls = metrics.recursionCalls();
+         event.cacheHits = metrics.cacheHits();
+         event.cacheMisses = metrics.cacheMisses();
+         event.prunedNodes = metrics.prunedNodes();
+         event.peakTableBytes = metrics.peakTableBytes();
+         event.fillTime = metrics.fillNanos();
+         event.reconstructionTime = metrics.reconstructionNanos();
+         event.commit();
+      }
+      for (SolveListener listener : LISTENERS)
+         listener.solved(metrics);
+   }
+}
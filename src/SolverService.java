@@ -0,0 +1,309 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Solves problems for many concurrent callers of a long-running process (e.g.,
+// KnapsackServer) and remembers the results:
+//    - The results are kept in a cache that evicts the least recently used
+//      results when the total number of items of the cached problems exceeds
+//      a limit. The cache is keyed by the problem (KnapsackInstance compares
+//      its items and capacity) and the strategy, so a hash collision never
+//      returns the result of another problem.
+//    - Identical requests that arrive while the problem is being solved wait
+//      for the same solve instead of starting their own (coalescing).
+//    - A strategy is chosen from the number of items, the capacity and the
+//      weights if the caller does not choose one (see choose).
+//    - A strategy chosen by the caller is rejected if the problem is too large
+//      for it (see check), and BRANCH_AND_BOUND stops after MAX_NODES visited
+//      subtrees, so a request cannot keep a thread busy for hours.
+// Each problem is solved by the thread of the first caller that requests it.
+public final class SolverService {
+   // the default maximum total number of items of the cached problems
+   public static final long DEFAULT_CACHE_ITEMS = 1L << 22;
+   // the maximum number of items that EXHAUSTIVE is chosen for
+   static final int EXHAUSTIVE_ITEMS = 20;
+   // the maximum number of elements of a solution matrix that TABULATION is
+   // chosen for (64 MB) and that the two-row solvers are chosen for
+   static final long TABULATION_CELLS = 1L << 24, ROLLING_CELLS = 1L << 31;
+   // the maximum number of states that PARETO is chosen for (about 70 MB)
+   static final long PARETO_STATES = 1L << 22;
+   // the limits of check: the maximum number of items for checking all the
+   // subsets (2^25 subsets) and for meet in the middle (2^25 subsets of each
+   // half), the maximum number of elements of a full solution matrix (512 MB
+   // of ints, which also bounds the estimated memo of MEMOIZATION), the
+   // maximum length of a row, and the maximum number of states of PARETO
+   // (about 570 MB)
+   static final int MAX_SUBSET_ITEMS = 25, MAX_MEET_IN_THE_MIDDLE_ITEMS = 50;
+   static final long MAX_TABLE_CELLS = 1L << 27, MAX_ROW_LENGTH = 1L << 28,
+         MAX_PARETO_STATES = 1L << 25;
+   // the maximum number of subtrees visited by BRANCH_AND_BOUND
+   static final long MAX_NODES = 1L << 24;
+
+   private final long maxCacheItems;
+   // the cached results in the order of their last use (guarded by itself)
+   private final LinkedHashMap<Key, KnapsackResult> cache =
+         new LinkedHashMap<>(16, 0.75f, true);
+   // the total number of items of the cached problems (guarded by cache)
+   private long cacheItems;
+   // the solves in progress
+   private final ConcurrentHashMap<Key, CompletableFuture<KnapsackResult>> inFlight =
+         new ConcurrentHashMap<>();
+   // the numbers of the requests, of the requests answered from the cache, of
+   // the requests that waited for another solve, and of the solves
+   private final LongAdder requests = new LongAdder(), cacheHits = new LongAdder(),
+         coalesced = new LongAdder(), solves = new LongAdder();
+
+   // creates a service with the default cache size
+   public SolverService() {
+      this(DEFAULT_CACHE_ITEMS);
+   }
+
+   // creates a service whose cache keeps problems with at most the given total
+   // number of items
+   public SolverService(long maxCacheItems) throws IllegalArgumentException {
+      if (maxCacheItems < 0)
+         throw new IllegalArgumentException("negative cache size: " + maxCacheItems);
+      this.maxCacheItems = maxCacheItems;
+   }
+
+   // solves the given problem with the strategy chosen for it
+   public KnapsackResult solve(KnapsackInstance instance) {
+      return solve(instance, choose(instance));
+   }
+
+   // solves the given problem with the given strategy (the result of
+   // BRANCH_AND_BOUND is approximate if the search reaches MAX_NODES)
+   public KnapsackResult solve(KnapsackInstance instance, KnapsackStrategy strategy)
+         throws IllegalArgumentException {
+      check(instance, strategy);
+      requests.increment();
+      Key key = new Key(instance, strategy);
+      synchronized (cache) {
+         KnapsackResult result = cache.get(key);
+         if (result != null) {
+            cacheHits.increment();
+            return result;
+         }
+      }
+      CompletableFuture<KnapsackResult> future = new CompletableFuture<>();
+      CompletableFuture<KnapsackResult> running = inFlight.putIfAbsent(key, future);
+      // another caller is solving the same problem
+      if (running != null) {
+         coalesced.increment();
+         try {
+            return running.join();
+         } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause() : e;
+         }
+      }
+      try {
+         // the result may have been cached after the lookup above
+         KnapsackResult result;
+         synchronized (cache) {
+            result = cache.get(key);
+         }
+         if (result != null) {
+            cacheHits.increment();
+            future.complete(result);
+            return result;
+         }
+         solves.increment();
+         result = strategy == KnapsackStrategy.BRANCH_AND_BOUND
+               ? new BranchAndBoundSolver(MAX_NODES).solve(instance)
+               : strategy.solver().solve(instance);
+         cache(key, result);
+         future.complete(result);
+         return result;
+      } catch (RuntimeException | Error e) {
+         future.completeExceptionally(e);
+         throw e;
+      } finally {
+         inFlight.remove(key);
+      }
+   }
+
+   // returns the strategy for the given problem:
+   //    - EXHAUSTIVE for a few items (at most 2^20 subsets),
+   //    - TABULATION if the solution matrix is small,
+   //    - PARETO if the matrix is large but the weights have a common divisor
+   //      that makes the number of reachable weights small enough,
+   //    - ROLLING_TABULATION if two rows of the matrix are small,
+   //    - BRANCH_AND_BOUND otherwise (its running time does not depend on the
+   //      capacity, and it stops after MAX_NODES visited subtrees)
+   public static KnapsackStrategy choose(KnapsackInstance instance) {
+      int numItems = instance.size(), capacity = instance.capacity();
+      if (numItems <= EXHAUSTIVE_ITEMS)
+         return KnapsackStrategy.EXHAUSTIVE;
+      long cells = numItems * (capacity + 1L);
+      if (cells <= TABULATION_CELLS)
+         return KnapsackStrategy.TABULATION;
+      // only the multiples of the greatest common divisor of the weights can be
+      // reached, which bounds the number of states of PARETO
+      int divisor = weightDivisor(instance);
+      if (divisor > 1 && (long) numItems * (capacity / divisor + 1) <= PARETO_STATES)
+         return KnapsackStrategy.PARETO;
+      if (cells <= ROLLING_CELLS)
+         return KnapsackStrategy.ROLLING_TABULATION;
+      return KnapsackStrategy.BRANCH_AND_BOUND;
+   }
+
+   // throws an IllegalArgumentException if the given problem is too large
+   // for the given strategy (the running time or the memory of the strategy
+   // would exceed the limits above; GREEDY and BRANCH_AND_BOUND accept any
+   // problem)
+   public static void check(KnapsackInstance instance, KnapsackStrategy strategy)
+         throws IllegalArgumentException {
+      int numItems = instance.size(), capacity = instance.capacity();
+      long cells = numItems * (capacity + 1L);
+      boolean fits;
+      switch (strategy) {
+      case RECURSIVE:
+      case SUBSETS:
+      case EXHAUSTIVE:
+         fits = numItems <= MAX_SUBSET_ITEMS;
+         break;
+      case MEET_IN_THE_MIDDLE:
+         fits = numItems <= MAX_MEET_IN_THE_MIDDLE_ITEMS;
+         break;
+      case TABULATION:
+         fits = cells <= MAX_TABLE_CELLS;
+         break;
+      case MEMOIZATION:
+         // the memo only stores the subproblems that can be visited if the
+         // matrix is sparse (see MemoizationSolver)
+         fits = MemoizationSolver.tableBytes(instance) <= MAX_TABLE_CELLS * Integer.BYTES;
+         break;
+      case ROLLING_TABULATION:
+      case PARALLEL_TABULATION:
+      case VECTOR_TABULATION:
+      case DECISION_BITS:
+         // the decision bits of ROLLING_CELLS elements take 256 MB
+         fits = capacity < MAX_ROW_LENGTH && cells <= ROLLING_CELLS;
+         break;
+      case PARETO:
+         fits = (long) numItems * (capacity / weightDivisor(instance) + 1)
+               <= MAX_PARETO_STATES;
+         break;
+      case FPTAS:
+         // the columns of the scaled values go up to the greedy upper bound
+         // divided by the scale (see FptasSolver)
+         long maxValue = 0;
+         int fitting = 0;
+         for (int i = 0; i < numItems; i++)
+            if (instance.weight(i) <= capacity) {
+               fitting++;
+               maxValue = Math.max(maxValue, instance.value(i));
+            }
+         double scale = Math.max(1, FptasSolver.DEFAULT_EPSILON * maxValue
+               / Math.max(1, fitting));
+         double columns = GreedySolver.greedy(instance).upperBound() / scale + 1;
+         fits = columns < MAX_ROW_LENGTH && numItems * columns <= ROLLING_CELLS;
+         break;
+      default:
+         fits = true;
+      }
+      if (!fits)
+         throw new IllegalArgumentException("problem too large for " + strategy + " ("
+               + numItems + " items, capacity " + capacity + ")");
+   }
+
+   // returns the number of the requests
+   public long requests() {
+      return requests.sum();
+   }
+
+   // returns the number of the requests answered from the cache
+   public long cacheHits() {
+      return cacheHits.sum();
+   }
+
+   // returns the number of the requests that waited for the solve of another
+   // request
+   public long coalesced() {
+      return coalesced.sum();
+   }
+
+   // returns the number of the solves
+   public long solves() {
+      return solves.sum();
+   }
+
+   // returns the number of the cached results
+   public int cacheSize() {
+      synchronized (cache) {
+         return cache.size();
+      }
+   }
+
+   // stores the given result and evicts the least recently used results until
+   // the cached problems fit into the limit (a problem with more items than
+   // the limit is not cached)
+   private void cache(Key key, KnapsackResult result) {
+      long items = key.instance.size() + 1L;
+      if (items > maxCacheItems)
+         return;
+      synchronized (cache) {
+         if (cache.put(key, result) == null)
+            cacheItems += items;
+         Iterator<Map.Entry<Key, KnapsackResult>> entries = cache.entrySet().iterator();
+         while (cacheItems > maxCacheItems && entries.hasNext()) {
+            cacheItems -= entries.next().getKey().instance.size() + 1L;
+            entries.remove();
+         }
+      }
+   }
+
+   // returns the greatest common divisor of the weights of the given problem
+   // (only its multiples can be reached; 1 if there are no items)
+   private static int weightDivisor(KnapsackInstance instance) {
+      int divisor = 0;
+      for (int i = 0; i < instance.size() && divisor != 1; i++)
+         divisor = gcd(divisor, instance.weight(i));
+      return Math.max(divisor, 1);
+   }
+
+   // returns the greatest common divisor of the given non-negative ints
+   private static int gcd(int a, int b) {
+      while (b != 0) {
+         int r = a % b;
+         a = b;
+         b = r;
+      }
+      return a;
+   }
+
+   // the key of a cached result: the problem and the strategy
+   private static final class Key {
+      final KnapsackInstance instance;
+      final KnapsackStrategy strategy;
+      // the hash code of the problem (computed once as it reads all the items)
+      private final int hash;
+
+      Key(KnapsackInstance instance, KnapsackStrategy strategy) {
+         this.instance = instance;
+         this.strategy = strategy;
+         hash = 31 * instance.hashCode() + strategy.ordinal();
+      }
+
+      @Override
+      public boolean equals(Object other) {
+         if (this == other)
+            return true;
+         if (!(other instanceof Key))
+            return false;
+         Key that = (Key) other;
+         return hash == that.hash && strategy == that.strategy
+               && instance.equals(that.instance);
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+   }
+}
@@ -0,0 +1,69 @@
+import java.util.ArrayList;
+
+// Solves the 0-1 knapsack problem recursively by checking all possible item
+// subsets and building an array list of the item indexes for each subset as
+// the solve2 method of the Knapsack class does.
+public final class SubsetSolver implements KnapsackSolver {
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("SubsetSolver", instance);
+      Recursion recursion = new Recursion(instance);
+      // the first element is the total value followed by the item indexes
+      ArrayList<Integer> knapsack = recursion.solve2(instance.size(),
+            instance.capacity());
+      int[] indexes = new int[knapsack.size() - 1];
+      for (int k = 1; k < knapsack.size(); k++)
+         indexes[k - 1] = knapsack.get(k);
+      metrics.recursionCalls += recursion.calls;
+      return metrics.finish(KnapsackResult.of(instance, indexes));
+   }
+
+   // the state of a single solve (created once for each call of solve, and
+   // only primitive fields are updated while recursing): the values and the
+   // weights of the items and the number of the calls of solve2 (added to the
+   // measurements once at the end of the solve)
+   private static final class Recursion {
+      private final int[] values, weights;
+      private long calls;
+
+      Recursion(KnapsackInstance instance) {
+         int numItems = instance.size();
+         values = new int[numItems];
+         weights = new int[numItems];
+         for (int i = 0; i < numItems; i++) {
+            values[i] = instance.value(i);
+            weights[i] = instance.weight(i);
+         }
+      }
+
+      // returns an array list that stores the total value of the items put
+      // into the knapsack followed by the indexes of these items when only the
+      // first n items and the given capacity are considered
+      ArrayList<Integer> solve2(int n, int capacity) {
+         calls++;
+         // base case: the number of the available items or the capacity is zero
+         if (n == 0 || capacity == 0) {
+            ArrayList<Integer> knapsack = new ArrayList<>();
+            knapsack.add(0);
+            return knapsack;
+         }
+         // test the last available item
+         int index = n - 1, value = values[index], weight = weights[index];
+         // linear recursive case: the weight of the item exceeds the capacity
+         if (weight > capacity)
+            return solve2(n - 1, capacity);
+         // binary recursive case (compare the possibilities when the item is
+         // not put in the knapsack and when the item is put in the knapsack)
+         ArrayList<Integer> knapsack1 = solve2(n - 1, capacity);
+         ArrayList<Integer> knapsack2 = solve2(n - 1, capacity - weight);
+         knapsack2.add(index);
+         knapsack2.set(0, knapsack2.get(0) + value);
+         // return the knapsack with greater total value between the 2
+         // possibilities
+         if (knapsack1.get(0) >= knapsack2.get(0))
+            return knapsack1;
+         else
+            return knapsack2;
+      }
+   }
+}
@@ -0,0 +1,81 @@
+import java.util.Arrays;
+
+// Solves the 0-1 knapsack problem iteratively by using a bottom-up dynamic
+// programming approach with tabulation as the solve3 method of the Knapsack
+// class does, and finds the items put into the knapsack by walking the
+// solution matrix backwards as the printSolution method does. The rows after
+// the first row are computed by a row kernel (serially by default).
+public final class TabulationSolver implements KnapsackSolver {
+   // computes each row from the previous row
+   private final RowKernel kernel;
+
+   // creates a solver that computes the rows serially
+   public TabulationSolver() {
+      this(ScalarRowKernel.INSTANCE);
+   }
+
+   // creates a solver that computes the rows with the given kernel
+   public TabulationSolver(RowKernel kernel) {
+      this.kernel = kernel;
+   }
+
+   @Override
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("TabulationSolver", instance);
+      int numItems = instance.size(), capacity = instance.capacity();
+      // there is nothing to put into the knapsack
+      if (numItems == 0 || capacity == 0)
+         return metrics.finish(new KnapsackResult(0, 0, new int[0]));
+      int[][] solution = fill(instance);
+      metrics.fillDone();
+      metrics.cellsComputed += (long) numItems * (capacity + 1);
+      metrics.tableBytes((long) numItems * (capacity + 1) * 4);
+      return metrics.finish(reconstruct(instance, solution, capacity));
+   }
+
+   // fills the solution matrix of the given problem once and returns it as a
+   // table that answers the problem for every capacity up to the capacity of
+   // the given problem
+   public KnapsackTable table(KnapsackInstance instance) {
+      return new KnapsackTable(instance,
+            instance.size() == 0 ? new int[0][] : fill(instance));
+   }
+
+   // creates and fills the solution matrix of the given problem with a row for
+   // each item and a column for each capacity 0, 1, ... , capacity
+   int[][] fill(KnapsackInstance instance) {
+      int numItems = instance.size(), capacity = instance.capacity();
+      int[][] solution = new int[numItems][capacity + 1];
+      // fill the first row (only the 1st item is considered)
+      int value = instance.value(0), weight = instance.weight(0);
+      for (int c = weight; c <= capacity; c++)
+         solution[0][c] = value;
+      // fill the rest of the rows (all the values are zero in column zero)
+      for (int i = 1; i < numItems; i++)
+         kernel.update(solution[i - 1], solution[i], instance.value(i),
+               instance.weight(i), capacity);
+      return solution;
+   }
+
+   // finds the items put into a knapsack with the given capacity by walking
+   // the given filled solution matrix from the last row in the column of the
+   // capacity back to the first row (the columns up to a capacity do not
+   // depend on the columns after it, so any capacity of the matrix can be used)
+   static KnapsackResult reconstruct(KnapsackInstance instance, int[][] solution,
+         int capacity) {
+      int numItems = solution.length;
+      int totalValue = solution[numItems - 1][capacity];
+      int[] selected = new int[numItems];
+      int count = 0;
+      for (int i = numItems - 1; i >= 0 && totalValue > 0 && capacity > 0; i--)
+         // the item is in the solution if it is the 1st item (and there is some
+         // remaining total value) or the value at the previous row is different
+         // from the remaining total value
+         if (i == 0 || solution[i - 1][capacity] != totalValue) {
+            selected[count++] = i;
+            totalValue -= instance.value(i);
+            capacity -= instance.weight(i);
+         }
+      return KnapsackResult.of(instance, Arrays.copyOf(selected, count));
+   }
+}
@@ -0,0 +1,51 @@
+import java.util.Arrays;
+
+// Solves the unbounded knapsack problem, in which every item can be put into
+// the knapsack any number of times, with a single row: best[c] is the best
+// total value for the capacity c, and as an item may be used again, the row is
+// updated in place in increasing order of the capacities (best[c - weight]
+// already includes the copies of the item). For each capacity the last item
+// that improved it is kept, and as best[c] = best[c - weight] + value holds
+// for that item at the end, the items are found by following these items back
+// from the capacity of the knapsack. O(numItems * capacity) time and
+// O(capacity) memory. The total values are longs, as many copies of an item
+// may exceed the int range.
+//
+// The indexes of the result are repeated once for each copy of the item put
+// into the knapsack. The solver is not a KnapsackSolver, as it solves another
+// problem than the 0-1 knapsack problem of that interface.
+public final class UnboundedSolver {
+   // solves the given problem in which every item is available any number of
+   // times
+   public KnapsackResult solve(KnapsackInstance instance) {
+      SolveMetrics metrics = new SolveMetrics("UnboundedSolver", instance);
+      int numItems = instance.size(), capacity = instance.capacity();
+      long[] best = new long[capacity + 1];
+      // the last item that improved each capacity (-1 for none)
+      int[] last = new int[capacity + 1];
+      Arrays.fill(last, -1);
+      for (int i = 0; i < numItems; i++) {
+         int value = instance.value(i), weight = instance.weight(i);
+         // an item without value never improves a capacity
+         if (value == 0)
+            continue;
+         for (int c = weight; c <= capacity; c++)
+            if (best[c - weight] + value > best[c]) {
+               best[c] = best[c - weight] + value;
+               last[c] = i;
+            }
+         metrics.cellsComputed += Math.max(0, capacity + 1 - weight);
+      }
+      metrics.fillDone();
+      metrics.tableBytes((capacity + 1) * 12L);
+      // follow the improving items back from the capacity of the knapsack
+      int count = 0;
+      for (int c = capacity; last[c] >= 0; c -= instance.weight(last[c]))
+         count++;
+      int[] indexes = new int[count];
+      count = 0;
+      for (int c = capacity; last[c] >= 0; c -= instance.weight(last[c]))
+         indexes[count++] = last[c];
+      return metrics.finish(KnapsackResult.of(instance, indexes));
+   }
+}
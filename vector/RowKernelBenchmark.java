@@ -0,0 +1,77 @@
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+// A program that compares the time for filling the rows of the solution matrix
+// with the nested loop of the solve3 method of Knapsack, the scalar kernel and
+// the SIMD kernel of the Vector API on a problem with a large capacity. Each
+// approach is run several times before it is timed so that the JIT compiler
+// has optimized it. Run it with:
+//    java --add-modules jdk.incubator.vector -cp bin RowKernelBenchmark [numItems capacity]
+public class RowKernelBenchmark {
+   // fills the rows of the given items in the same way as the inner loop of
+   // solve3 (two rows are kept so that only the loop itself is compared) and
+   // returns the total value for the given capacity
+   private static int nestedLoop(int[][] items, int capacity) {
+      int[] previous = new int[capacity + 1], current = new int[capacity + 1];
+      for (int i = 0; i < items.length; i++) {
+         for (int c = 1; c <= capacity; c++) {
+            int value = items[i][0], weight = items[i][1];
+            int totalValue1 = 0, totalValue2;
+            if (weight <= c)
+               totalValue1 = value + previous[c - weight];
+            totalValue2 = previous[c];
+            current[c] = Math.max(totalValue1, totalValue2);
+         }
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+      return previous[capacity];
+   }
+
+   // fills the rows of the given items with the given kernel and returns the
+   // total value for the given capacity
+   private static int kernel(RowKernel kernel, int[][] items, int capacity) {
+      int[] previous = new int[capacity + 1], current = new int[capacity + 1];
+      for (int i = 0; i < items.length; i++) {
+         kernel.update(previous, current, items[i][0], items[i][1], capacity);
+         int[] row = previous;
+         previous = current;
+         current = row;
+      }
+      return previous[capacity];
+   }
+
+   // runs the given approach 3 times for warming up and 5 times for timing,
+   // and prints the average execution time
+   private static void time(String name, IntSupplier approach) {
+      int totalValue = 0;
+      for (int k = 0; k < 3; k++)
+         totalValue = approach.getAsInt();
+      long startTime = System.nanoTime();
+      for (int k = 0; k < 5; k++)
+         totalValue = approach.getAsInt();
+      long endTime = System.nanoTime();
+      double executionTime = (endTime - startTime) / 5 / 1000000.0;
+      System.out.printf("%-12s total value %d, %.2f milliseconds%n", name,
+            totalValue, executionTime);
+   }
+
+   public static void main(String[] args) {
+      // by default there are 200 items and the weight capacity is 1,000,000
+      int numItems = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+      int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+      // random values in [1, 1000] and weights in [1, 10000] (fixed seed)
+      Random random = new Random(42);
+      int[][] items = new int[numItems][2];
+      for (int i = 0; i < numItems; i++) {
+         items[i][0] = 1 + random.nextInt(1000);
+         items[i][1] = 1 + random.nextInt(10000);
+      }
+      System.out.println(numItems + " items, capacity " + capacity + ", "
+            + VectorRowKernel.lanes() + " int lanes");
+      time("nested loop", () -> nestedLoop(items, capacity));
+      time("scalar", () -> kernel(ScalarRowKernel.INSTANCE, items, capacity));
+      time("vector", () -> kernel(new VectorRowKernel(), items, capacity));
+   }
+}
@@ -0,0 +1,41 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// Computes the rows of the solution matrix with SIMD instructions by using the
+// incubating Vector API. The update of solve3 is an element-wise maximum of the
+// previous row and the previous row shifted by the weight of the item plus its
+// value, so each iteration of the loop handles as many capacities as there are
+// int lanes in the preferred vector species of the platform (e.g., 8 for AVX2
+// and 16 for AVX-512). This class must be compiled and run with the option
+// --add-modules jdk.incubator.vector; RowKernels.vectorOrScalar() loads it only
+// if the module is available.
+public final class VectorRowKernel implements RowKernel {
+   // the widest vector shape supported by the platform (loading this class
+   // fails if the jdk.incubator.vector module is not available)
+   private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+   @Override
+   public void update(int[] previous, int[] current, int value, int weight,
+         int capacity) {
+      // the item does not fit into the knapsack for the capacities below its
+      // weight, so these elements are copied from the previous row
+      int limit = Math.min(weight, capacity + 1);
+      System.arraycopy(previous, 0, current, 0, limit);
+      // the vectorized loop over the capacities in full vectors
+      IntVector values = IntVector.broadcast(SPECIES, value);
+      int c = limit, upperBound = limit + SPECIES.loopBound(capacity + 1 - limit);
+      for (; c < upperBound; c += SPECIES.length()) {
+         IntVector without = IntVector.fromArray(SPECIES, previous, c);
+         IntVector with = IntVector.fromArray(SPECIES, previous, c - weight).add(values);
+         without.max(with).intoArray(current, c);
+      }
+      // the scalar loop over the remaining capacities
+      for (; c <= capacity; c++)
+         current[c] = Math.max(previous[c], value + previous[c - weight]);
+   }
+
+   // returns the number of int lanes in a vector
+   public static int lanes() {
+      return SPECIES.length();
+   }
+}